@@ -0,0 +1,71 @@
+package com.example.querydsl.analytics;
+
+import com.example.querydsl.dto.MemberTeamDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 팀별 나이 집계 : MemberTeamDto 스트림 groupingBy vs MemberAggregationEngine(fork/join + primitive 배열)
+ * ./gradlew jmh -Pjmh.includes=MemberAggregationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberAggregationBenchmark {
+    @Param({"100000", "1000000"})
+    int rows;
+
+    @Param({"10", "1000"})
+    int teams;
+
+    List<MemberTeamDto> dtos;
+    MemberColumns columns;
+    MemberAggregationEngine engine;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        dtos = new ArrayList<>(rows);
+        MemberColumns.Builder builder = MemberColumns.builder(rows);
+        for (int i = 0; i < rows; i++) {
+            long teamId = random.nextInt(teams) + 1;
+            int age = random.nextInt(100);
+            dtos.add(new MemberTeamDto((long) i, "member" + i, age, teamId, "team" + teamId));
+            builder.add(i, teamId, age);
+        }
+        columns = builder.build();
+        engine = new MemberAggregationEngine();
+    }
+
+    @Benchmark
+    public Object boxedStreamGroupingBy() {
+        Map<Long, IntSummaryStatistics> stats = dtos.parallelStream()
+                .collect(Collectors.groupingByConcurrent(MemberTeamDto::getTeamId,
+                                                         Collectors.summarizingInt(MemberTeamDto::getAge)));
+        Map<Long, Map<Integer, Long>> histogram = dtos.parallelStream()
+                .collect(Collectors.groupingByConcurrent(MemberTeamDto::getTeamId,
+                                                         Collectors.groupingBy(dto -> Math.min(dto.getAge() / 10, 11),
+                                                                               Collectors.counting())));
+        Map<Long, List<MemberTeamDto>> oldest = dtos.parallelStream()
+                .collect(Collectors.groupingByConcurrent(MemberTeamDto::getTeamId, Collectors.toList()))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream()
+                        .sorted(Comparator.comparingInt(MemberTeamDto::getAge).reversed())
+                        .limit(3)
+                        .collect(Collectors.toList())));
+        return new Object[]{stats, histogram, oldest};
+    }
+
+    @Benchmark
+    public Object forkJoinEngine() {
+        return engine.aggregateByTeam(columns, 3);
+    }
+}
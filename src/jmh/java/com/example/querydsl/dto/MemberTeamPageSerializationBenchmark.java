@@ -0,0 +1,54 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageImpl 리플렉션 직렬화 vs MemberTeamPage 스트리밍 직렬화
+ * ./gradlew jmh -Pjmh.includes=MemberTeamPageSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberTeamPageSerializationBenchmark {
+    @Param({"20", "200"})
+    int pageSize;
+
+    ObjectMapper objectMapper;
+    Page<MemberTeamDto> pageImpl;
+    MemberTeamPage memberTeamPage;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+
+        List<MemberTeamDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new MemberTeamDto((long) i, "member" + i, i % 100, (long) (i % 2), i % 2 == 0 ? "teamA" : "teamB"));
+        }
+        pageImpl = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("username")), 10_000);
+        memberTeamPage = MemberTeamPage.of(pageImpl);
+
+        System.out.printf("%npayload bytes : PageImpl = %d, MemberTeamPage = %d%n",
+                            objectMapper.writeValueAsBytes(pageImpl).length,
+                            objectMapper.writeValueAsBytes(memberTeamPage).length);
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws Exception {
+        return objectMapper.writeValueAsBytes(pageImpl);
+    }
+
+    @Benchmark
+    public byte[] memberTeamPage() throws Exception {
+        return objectMapper.writeValueAsBytes(memberTeamPage);
+    }
+}
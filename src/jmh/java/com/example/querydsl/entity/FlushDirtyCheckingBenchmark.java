@@ -0,0 +1,98 @@
+package com.example.querydsl.entity;
+
+import com.example.querydsl.QuerydslApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 많이 읽고 조금 바꾸는 트랜잭션의 flush 비용
+ * - loadOnly 와 loadChangeFlush 의 차이가 dirty checking + update 비용
+ * - enhancement(dirty tracking) 빌드는 읽은 엔티티 수(loaded)와 무관하게 변경한 필드만 확인한다.
+ *   비교 : ./gradlew jmh -Pjmh.includes=FlushDirtyCheckingBenchmark  vs  같은 명령 + -PnoEnhance
+ * 트랜잭션은 매번 롤백해서 데이터가 변하지 않게 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlushDirtyCheckingBenchmark {
+    private static final int CHANGED = 10;
+
+    @Param({"100", "5000"})
+    int loaded;
+
+    ConfigurableApplicationContext context;
+    EntityManagerFactory emf;
+    TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=bench",
+                     "--spring.datasource.url=jdbc:h2:mem:flush-bench;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.hibernate.ddl-auto=create",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                     "--decorator.datasource.p6spy.enable-logging=false",
+                     "--logging.level.org.hibernate.SQL=warn");
+        emf = context.getBean(EntityManagerFactory.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Team team = new Team("teamA");
+            em.persist(team);
+            for (int i = 0; i < 5_000; i++) {
+                em.persist(new Member("member" + i, i % 100, team));
+                if (i % 100 == 0) {
+                    em.flush();
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int loadOnly() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = load();
+            EntityManagerFactoryUtils.getTransactionalEntityManager(emf).flush();
+            status.setRollbackOnly();
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public int loadChangeFlush() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = load();
+            for (int i = 0; i < CHANGED; i++) {
+                Member member = members.get(i);
+                member.setAge(member.getAge() + 1);
+            }
+            EntityManagerFactoryUtils.getTransactionalEntityManager(emf).flush();
+            status.setRollbackOnly();
+            return members.size();
+        });
+    }
+
+    private List<Member> load() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(emf)
+                .createQuery("select m from Member m order by m.id", Member.class)
+                .setMaxResults(loaded)
+                .getResultList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.querydsl.entity;
+
+import com.example.querydsl.QuerydslApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대형 팀에 회원 한 명을 배정하는 비용 (Member.changeTeam)
+ * - assign : team.members 가 로딩되지 않은 상태, FK 만 바꾸므로 팀 크기와 무관해야 한다.
+ * - assignLoadedMembers : team.members 를 먼저 로딩한 상태 (이전 changeTeam 의 team.getMembers().add 와 같은 비용)
+ * ./gradlew jmh -Pjmh.includes=TeamAssignmentBenchmark
+ * 트랜잭션은 매번 롤백해서 데이터가 변하지 않게 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeamAssignmentBenchmark {
+    @Param({"1000", "100000"})
+    int teamSize;
+
+    ConfigurableApplicationContext context;
+    EntityManagerFactory emf;
+    TransactionTemplate transactionTemplate;
+    Long bigTeamId;
+    Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=bench",
+                     "--spring.datasource.url=jdbc:h2:mem:team-assign-bench;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.hibernate.ddl-auto=create",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+                     "--decorator.datasource.p6spy.enable-logging=false",
+                     "--logging.level.org.hibernate.SQL=warn");
+        emf = context.getBean(EntityManagerFactory.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Team bigTeam = new Team("bigTeam");
+            Team smallTeam = new Team("smallTeam");
+            em.persist(bigTeam);
+            em.persist(smallTeam);
+            for (int i = 0; i < teamSize; i++) {
+                em.persist(new Member("member" + i, i % 100, bigTeam));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    bigTeam = em.find(Team.class, bigTeam.getId());
+                }
+            }
+            Member member = new Member("mover", 30, smallTeam);
+            em.persist(member);
+            bigTeamId = bigTeam.getId();
+            memberId = member.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long assign() {
+        return transactionTemplate.execute(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Member member = em.find(Member.class, memberId);
+            member.changeTeam(em.find(Team.class, bigTeamId));
+            em.flush();
+            status.setRollbackOnly();
+            return member.getTeam().getId();
+        });
+    }
+
+    @Benchmark
+    public Long assignLoadedMembers() {
+        return transactionTemplate.execute(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Member member = em.find(Member.class, memberId);
+            Team team = em.find(Team.class, bigTeamId);
+            team.getMembers().size();
+            member.changeTeam(team);
+            em.flush();
+            status.setRollbackOnly();
+            return member.getTeam().getId();
+        });
+    }
+}
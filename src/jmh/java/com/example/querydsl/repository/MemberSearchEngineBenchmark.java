@@ -0,0 +1,106 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.QuerydslApplication;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO 검색 : Querydsl-JPA(JPQL → SQL 변환 + 하이버네이트 결과 처리) vs querydsl-sql(SQL 직접 생성, 행 → DTO)
+ * ./gradlew jmh -Pjmh.includes=MemberSearchEngineBenchmark
+ * 두 구현 모두 읽기 전용 트랜잭션 안에서 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchEngineBenchmark {
+    // 결과 행 수 : ageLoe 로 조절 (회원 10,000 명, 나이 0 ~ 99)
+    @Param({"1", "50"})
+    int ageLoe;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate readOnlyTransaction;
+    MemberRepository memberRepository;
+    MemberSqlRepository memberSqlRepository;
+    MemberSearchCondition condition;
+    PageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=bench",
+                     "--spring.datasource.url=jdbc:h2:mem:search-engine-bench;DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.hibernate.ddl-auto=create",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=100",
+                     "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                     "--decorator.datasource.p6spy.enable-logging=false",
+                     "--logging.level.org.hibernate.SQL=warn");
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberSqlRepository = context.getBean(MemberSqlRepository.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < 10_000; i++) {
+                em.persist(new Member("member" + i, i % 100, i % 2 == 0 ? teamA : teamB));
+                if (i % 100 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        condition = new MemberSearchCondition();
+        condition.setAgeLoe(ageLoe);
+        pageRequest = PageRequest.of(0, 20, Sort.by("username"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> whereParameterJpa() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchWhereParameter(condition));
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> whereParameterSql() {
+        return readOnlyTransaction.execute(status -> memberSqlRepository.searchWhereParameter(condition));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> pageJpa() {
+        return readOnlyTransaction.execute(status -> memberRepository.searchPaginationCountQueryOptimization(condition, pageRequest));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> pageSql() {
+        return readOnlyTransaction.execute(status -> memberSqlRepository.searchPaginationCountQueryOptimization(condition, pageRequest));
+    }
+}
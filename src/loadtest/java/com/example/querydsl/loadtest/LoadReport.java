@@ -0,0 +1,77 @@
+package com.example.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * build/reports/loadtest/<시각>-<mode>/ 에 결과 기록
+ * - summary.txt : 옵션, endpoint 별 처리량/오류/지연시간 백분위 (ms)
+ * - summary.csv : 빌드 간 비교용 (한 줄 = endpoint)
+ * - <endpoint>.hgrm, <endpoint>-service.hgrm : HdrHistogram 백분위 분포 (HistogramPlotter 등으로 그래프)
+ */
+class LoadReport {
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String CSV_HEADER = "endpoint,requests,ok,rejected,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms";
+
+    static Path write(LoadTestOptions options, LoadResult result) throws IOException {
+        String name = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "-" + options.mode;
+        Path dir = Files.createDirectories(Path.of(options.reportDir, name));
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        text.append("options : ").append(options).append('\n');
+        text.append(String.format("elapsed : %.1f s%n%n", result.elapsedSeconds()));
+        text.append(String.format("%-6s %9s %9s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "", "requests", "ok", "rejected", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max"));
+
+        for (Map.Entry<String, LoadResult.EndpointResult> entry : result.endpoints().entrySet()) {
+            append(entry.getKey(), entry.getValue(), result.elapsedSeconds(), text, csv);
+            writeHistograms(dir, entry.getKey(), entry.getValue());
+        }
+        LoadResult.EndpointResult total = result.total();
+        append("all", total, result.elapsedSeconds(), text, csv);
+        writeHistograms(dir, "all", total);
+
+        Files.writeString(dir.resolve("summary.txt"), text, StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("summary.csv"), csv, StandardCharsets.UTF_8);
+        System.out.print(text);
+        return dir;
+    }
+
+    private static void append(String endpoint, LoadResult.EndpointResult result, double elapsedSeconds,
+                               StringBuilder text, StringBuilder csv) {
+        Histogram latency = result.responseTime;
+        double throughput = result.count() / elapsedSeconds;
+        text.append(String.format("%-6s %9d %9d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, result.count(), result.ok.sum(), result.rejected.sum(), result.errors.sum(), throughput,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI));
+        csv.append(String.format("%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                endpoint, result.count(), result.ok.sum(), result.rejected.sum(), result.errors.sum(), throughput,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI, millis(result.serviceTime, 99)));
+    }
+
+    private static void writeHistograms(Path dir, String endpoint, LoadResult.EndpointResult result) throws IOException {
+        writeHistogram(dir.resolve(endpoint + ".hgrm"), result.responseTime);
+        writeHistogram(dir.resolve(endpoint + "-service.hgrm"), result.serviceTime);
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI); // ms 단위
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
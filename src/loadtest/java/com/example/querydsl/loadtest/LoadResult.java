@@ -0,0 +1,96 @@
+package com.example.querydsl.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * endpoint 별 지연시간 히스토그램(마이크로초)과 응답 결과 집계
+ * - responseTime : coordinated omission 보정 지연시간 (open : 예정 시작 시각 기준, closed : 기대 간격으로 보정)
+ * - serviceTime  : 실제 요청 전송 ~ 응답 시간 (보정 없음, 비교용)
+ */
+class LoadResult {
+    private final Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    LoadResult() {
+        for (String endpoint : RequestMix.ENDPOINTS) {
+            endpoints.put(endpoint, new EndpointResult());
+        }
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    double elapsedSeconds() {
+        return (endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    EndpointResult endpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    Map<String, EndpointResult> endpoints() {
+        return endpoints;
+    }
+
+    EndpointResult total() {
+        EndpointResult total = new EndpointResult();
+        endpoints.values().forEach(total::add);
+        return total;
+    }
+
+    static class EndpointResult {
+        final Histogram responseTime = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder(); // 429, 503 (bulkhead, executor 포화)
+        final LongAdder errors = new LongAdder();   // 그 밖의 오류 응답, 연결 실패
+
+        /**
+         * @param expectedIntervalMicros closed 모델 보정 간격, 0 이면 보정 없이 기록
+         */
+        void record(int status, long responseMicros, long serviceMicros, long expectedIntervalMicros) {
+            if (expectedIntervalMicros > 0) {
+                responseTime.recordValueWithExpectedInterval(responseMicros, expectedIntervalMicros);
+            } else {
+                responseTime.recordValue(responseMicros);
+            }
+            serviceTime.recordValue(serviceMicros);
+
+            if (status >= 200 && status < 300) {
+                ok.increment();
+            } else if (status == 429 || status == 503) {
+                rejected.increment();
+            } else {
+                errors.increment();
+            }
+        }
+
+        void recordFailure() {
+            errors.increment();
+        }
+
+        long count() {
+            return ok.sum() + rejected.sum() + errors.sum();
+        }
+
+        private void add(EndpointResult other) {
+            responseTime.add(other.responseTime);
+            serviceTime.add(other.serviceTime);
+            ok.add(other.ok.sum());
+            rejected.add(other.rejected.sum());
+            errors.add(other.errors.sum());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.querydsl.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open / closed 모델 부하 발생
+ *
+ * open   : 1/rate 간격의 예정 시각에 요청을 보내고(응답을 기다리지 않음), 지연시간을 예정 시각부터 잰다.
+ *          서버가 느려져 전송이 밀려도 대기한 시간이 지연시간에 포함되므로 coordinated omission 이 생기지 않는다.
+ * closed : users 개의 스레드가 각자 응답을 받으면 다음 요청을 보낸다.
+ *          응답이 기대 간격보다 늦어 보내지 못한 요청은 recordValueWithExpectedInterval 로 보정한다.
+ */
+class LoadRunner {
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+                                                .connectTimeout(Duration.ofSeconds(5))
+                                                .version(HttpClient.Version.HTTP_1_1)
+                                                .build();
+    private final RequestMix requestMix;
+    private final LoadTestOptions options;
+
+    LoadRunner(RequestMix requestMix, LoadTestOptions options) {
+        this.requestMix = requestMix;
+        this.options = options;
+    }
+
+    LoadResult runOpen(int seconds, long seed) throws InterruptedException {
+        LoadResult result = new LoadResult();
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        LongAdder dropped = new LongAdder();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long total = (long) options.rate * seconds;
+
+        result.start();
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            RequestMix.Request request = requestMix.next(random);
+            LoadResult.EndpointResult endpoint = result.endpoint(request.endpoint);
+            if (!inFlight.tryAcquire()) {
+                dropped.increment(); // 부하 발생기 자체 보호, 실패로 집계
+                endpoint.recordFailure();
+                continue;
+            }
+            long sendStart = System.nanoTime();
+            client.sendAsync(httpRequest(request), HttpResponse.BodyHandlers.discarding())
+                  .whenComplete((response, e) -> {
+                      long now = System.nanoTime();
+                      inFlight.release();
+                      if (e != null) {
+                          endpoint.recordFailure();
+                      } else {
+                          endpoint.record(response.statusCode(), micros(now - intendedStart), micros(now - sendStart), 0);
+                      }
+                  });
+        }
+        inFlight.acquire(MAX_IN_FLIGHT); // 남은 응답 대기
+        result.stop();
+
+        if (dropped.sum() > 0) {
+            System.out.printf("in-flight 한도(%d) 초과로 보내지 못한 요청 : %d%n", MAX_IN_FLIGHT, dropped.sum());
+        }
+        return result;
+    }
+
+    /**
+     * @param expectedIntervalMicros 사용자별 기대 요청 간격 (pacingMs 또는 워밍업 평균 응답시간)
+     */
+    LoadResult runClosed(int seconds, long seed, long expectedIntervalMicros) throws InterruptedException {
+        LoadResult result = new LoadResult();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long pacingNanos = TimeUnit.MILLISECONDS.toNanos(options.pacingMs);
+
+        List<Thread> users = new ArrayList<>(options.users);
+        result.start();
+        for (int user = 0; user < options.users; user++) {
+            SplittableRandom random = new SplittableRandom(seed + user);
+            Thread thread = new Thread(() -> {
+                long nextStart = System.nanoTime();
+                while (System.nanoTime() < deadline) {
+                    RequestMix.Request request = requestMix.next(random);
+                    LoadResult.EndpointResult endpoint = result.endpoint(request.endpoint);
+                    long sendStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(httpRequest(request), HttpResponse.BodyHandlers.discarding());
+                        long elapsed = micros(System.nanoTime() - sendStart);
+                        endpoint.record(response.statusCode(), elapsed, elapsed, expectedIntervalMicros);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        endpoint.recordFailure();
+                    }
+
+                    if (pacingNanos > 0) {
+                        nextStart += pacingNanos;
+                        long wait = nextStart - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                }
+            }, "load-user-" + user);
+            users.add(thread);
+            thread.start();
+        }
+        for (Thread thread : users) {
+            thread.join();
+        }
+        result.stop();
+        return result;
+    }
+
+    private static HttpRequest httpRequest(RequestMix.Request request) {
+        return HttpRequest.newBuilder(request.uri)
+                          .timeout(Duration.ofSeconds(30))
+                          .header("Accept", "application/json")
+                          .GET()
+                          .build();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
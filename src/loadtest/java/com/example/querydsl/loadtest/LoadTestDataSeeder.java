@@ -0,0 +1,78 @@
+package com.example.querydsl.loadtest;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.outbox.ChangeType;
+import com.example.querydsl.outbox.OutboxRecorder;
+import com.example.querydsl.team.TeamMemberCounter;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * teams 개의 팀과 members 명의 회원을 StatelessSession 으로 insert (엔티티 리스너/outbox 기록 없이 JDBC batch)
+ * - 엔티티 리스너를 거치지 않으므로 team.member_count 는 커밋 단위마다 팀별 insert 수를 같은 트랜잭션에서 직접 더한다.
+ *   (MemberCsvImporter 와 같은 TeamMemberCounter.add(connection, deltas))
+ * - 끝나면 outbox 에 BULK_CREATED 를 직접 남겨서 DataVersion 이 바뀌게 한다. (시드 전에 받은 ETag 로 304 가 나가지 않도록)
+ */
+class LoadTestDataSeeder {
+    private static final int COMMIT_INTERVAL = 5_000;
+
+    static void seed(ApplicationContext context, int teamCount, int memberCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        TeamMemberCounter teamMemberCounter = context.getBean(TeamMemberCounter.class);
+        try (StatelessSession session = emf.unwrap(SessionFactory.class).openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            List<Team> teams = new ArrayList<>(teamCount);
+            for (int i = 0; i < teamCount; i++) {
+                Team team = new Team("team" + i);
+                session.insert(team);
+                teams.add(team);
+            }
+
+            Map<Long, Long> deltas = new HashMap<>();
+            for (int i = 0; i < memberCount; i++) {
+                Member member = new Member("member" + i, random.nextInt(100));
+                member.setTeam(teams.get(random.nextInt(teamCount)));
+                session.insert(member);
+                deltas.merge(member.getTeam().getId(), 1L, Long::sum);
+                if ((i + 1) % COMMIT_INTERVAL == 0) {
+                    commit(session, tx, teamMemberCounter, deltas);
+                    tx = session.beginTransaction();
+                }
+            }
+            commit(session, tx, teamMemberCounter, deltas);
+        }
+
+        OutboxRecorder recorder = context.getBean(OutboxRecorder.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            recorder.record("Team", null, ChangeType.BULK_CREATED, Map.of("affected", teamCount, "source", "loadtest"));
+            recorder.record("Member", null, ChangeType.BULK_CREATED, Map.of("affected", memberCount, "source", "loadtest"));
+        });
+    }
+
+    // 커밋 단위의 팀별 회원 수를 같은 커넥션으로 더하고 커밋한다.
+    private static void commit(StatelessSession session, Transaction tx, TeamMemberCounter teamMemberCounter,
+                               Map<Long, Long> deltas) {
+        try {
+            teamMemberCounter.add(((SharedSessionContractImplementor) session).connection(), deltas);
+        } catch (SQLException e) {
+            throw new IllegalStateException("team.member_count 반영 실패", e);
+        }
+        tx.commit();
+        deltas.clear();
+    }
+}
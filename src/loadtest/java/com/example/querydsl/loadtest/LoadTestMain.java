@@ -0,0 +1,50 @@
+package com.example.querydsl.loadtest;
+
+import com.example.querydsl.QuerydslApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * member 검색 API 부하 테스트
+ * 1. loadtest 프로파일(임베디드 H2, 임의 포트)로 애플리케이션을 띄우고 시드 데이터를 넣는다.
+ * 2. 워밍업(결과 제외) 후 open / closed 모델로 /api/v1|v2|v3/members 를 호출한다.
+ * 3. build/reports/loadtest 에 coordinated omission 보정 HDR 지연시간 리포트와 처리량 요약을 남긴다.
+ *
+ * ./gradlew httpLoadTest -Pargs="--mode=open --rate=300 --duration=60"
+ * ./gradlew httpLoadTest -Pargs="--mode=closed --users=32 --duration=60"
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("load test : " + options);
+
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) SpringApplication.run(
+                QuerydslApplication.class, "--spring.profiles.active=loadtest");
+        try {
+            LoadTestDataSeeder.seed(context, options.teams, options.members, options.seed);
+
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            LoadRunner runner = new LoadRunner(new RequestMix(baseUrl, options.teams, options.members), options);
+
+            LoadResult result;
+            if (options.mode.equals("open")) {
+                runner.runOpen(options.warmupSeconds, options.seed);
+                result = runner.runOpen(options.durationSeconds, options.seed + 1);
+            } else {
+                LoadResult warmup = runner.runClosed(options.warmupSeconds, options.seed, 0);
+                long expectedIntervalMicros = options.pacingMs > 0
+                        ? options.pacingMs * 1_000
+                        : Math.max(1, (long) warmup.total().serviceTime.getMean());
+                result = runner.runClosed(options.durationSeconds, options.seed + 1, expectedIntervalMicros);
+            }
+
+            Path report = LoadReport.write(options, result);
+            System.out.println("report : " + report.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.querydsl.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --mode=open --rate=200 --duration=60 ... 형식의 실행 옵션
+ *
+ * mode        open(고정 도착률) | closed(고정 동시 사용자)
+ * rate        open : 초당 요청 수
+ * users       closed : 동시 사용자(스레드) 수
+ * pacingMs    closed : 사용자별 요청 시작 간격, 0 이면 응답 즉시 다음 요청 (보정 간격은 워밍업 평균 응답시간)
+ * duration    측정 시간(초), warmup 워밍업 시간(초, 결과 제외)
+ * teams, members, seed  시드 데이터 / 요청 조합 난수
+ */
+public class LoadTestOptions {
+    final String mode;
+    final int rate;
+    final int users;
+    final long pacingMs;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final int teams;
+    final int members;
+    final long seed;
+    final String reportDir;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.mode = values.getOrDefault("mode", "open");
+        this.rate = Integer.parseInt(values.getOrDefault("rate", "200"));
+        this.users = Integer.parseInt(values.getOrDefault("users", "16"));
+        this.pacingMs = Long.parseLong(values.getOrDefault("pacingMs", "0"));
+        this.durationSeconds = Integer.parseInt(values.getOrDefault("duration", "60"));
+        this.warmupSeconds = Integer.parseInt(values.getOrDefault("warmup", "10"));
+        this.teams = Integer.parseInt(values.getOrDefault("teams", "20"));
+        this.members = Integer.parseInt(values.getOrDefault("members", "10000"));
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.reportDir = values.getOrDefault("reportDir", System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+
+        if (!mode.equals("open") && !mode.equals("closed")) {
+            throw new IllegalArgumentException("mode 는 open 또는 closed : " + mode);
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--name=value 형식이 아닙니다 : " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    @Override
+    public String toString() {
+        return "mode=" + mode + ", rate=" + rate + ", users=" + users + ", pacingMs=" + pacingMs
+                + ", duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s"
+                + ", teams=" + teams + ", members=" + members + ", seed=" + seed;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.querydsl.loadtest;
+
+import java.net.URI;
+import java.util.SplittableRandom;
+
+/**
+ * /api/v1|v2|v3/members 요청 조합
+ * - endpoint 비율 v1 30%, v2 35%, v3 35%
+ * - 조건 : teamName 40%, 나이 범위 50%, username 10% (정확히 일치)
+ * - 페이징 : 대부분 앞쪽 페이지(0~4), 20% 는 깊은 페이지, size 10/20/50, 30% 는 정렬 지정
+ */
+class RequestMix {
+    static final String[] ENDPOINTS = {"v1", "v2", "v3"};
+    private static final int[] PAGE_SIZES = {10, 20, 50};
+    private static final String[] SORTS = {"username", "age,desc", "teamName", "teamId"};
+
+    private final String baseUrl;
+    private final int teams;
+    private final int members;
+
+    RequestMix(String baseUrl, int teams, int members) {
+        this.baseUrl = baseUrl;
+        this.teams = teams;
+        this.members = members;
+    }
+
+    Request next(SplittableRandom random) {
+        int pick = random.nextInt(100);
+        String endpoint = pick < 30 ? "v1" : pick < 65 ? "v2" : "v3";
+
+        StringBuilder query = new StringBuilder();
+        if (random.nextInt(100) < 40) {
+            append(query, "teamName", "team" + random.nextInt(teams));
+        }
+        if (random.nextInt(100) < 50) {
+            int ageGoe = random.nextInt(80);
+            append(query, "ageGoe", String.valueOf(ageGoe));
+            append(query, "ageLoe", String.valueOf(ageGoe + 5 + random.nextInt(30)));
+        }
+        if (random.nextInt(100) < 10) {
+            append(query, "username", "member" + random.nextInt(members));
+        }
+        if (!endpoint.equals("v1")) {
+            int page = random.nextInt(100) < 80 ? random.nextInt(5) : 5 + random.nextInt(45);
+            append(query, "page", String.valueOf(page));
+            append(query, "size", String.valueOf(PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]));
+            if (random.nextInt(100) < 30) {
+                append(query, "sort", SORTS[random.nextInt(SORTS.length)]);
+            }
+        }
+        return new Request(endpoint, URI.create(baseUrl + "/api/" + endpoint + "/members" + query));
+    }
+
+    private static void append(StringBuilder query, String name, String value) {
+        query.append(query.length() == 0 ? '?' : '&').append(name).append('=').append(value);
+    }
+
+    static class Request {
+        final String endpoint;
+        final URI uri;
+
+        Request(String endpoint, URI uri) {
+            this.endpoint = endpoint;
+            this.uri = uri;
+        }
+    }
+}
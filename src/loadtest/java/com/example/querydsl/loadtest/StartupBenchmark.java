@@ -0,0 +1,141 @@
+package com.example.querydsl.loadtest;
+
+import com.example.querydsl.QuerydslApplication;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시간 벤치마크 : 애플리케이션 프로세스 시작 ~ 첫 요청 성공(time-to-first-request)
+ * - 매 실행마다 새 JVM 으로 애플리케이션을 띄우고 path 를 10ms 간격으로 호출해서 첫 2xx 응답까지 시간을 잰다.
+ * - prod 프로파일은 스키마를 검증만 하므로, 처음에 파일 H2 DB 에 ddl-auto=create 로 한 번 띄워서 스키마를 만든다.
+ * - 결과는 build/reports/startup/ 에 실행별 기록(txt)과 누적 이력(history.csv)으로 남긴다.
+ *
+ * ./gradlew startupBenchmark -Pprod -Pargs="--runs=5 --profiles=prod"
+ */
+public class StartupBenchmark {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        String profiles = options.getOrDefault("profiles", "prod");
+        String path = options.getOrDefault("path", "/api/v1/members?username=startup");
+        Path workDir = Files.createDirectories(Path.of(options.getOrDefault("workDir", "build/startup-benchmark")));
+        Path reportDir = Files.createDirectories(Path.of(options.getOrDefault("reportDir",
+                System.getProperty("startup.reportDir", "build/reports/startup"))));
+        String datasourceUrl = "jdbc:h2:file:" + workDir.toAbsolutePath().resolve("db");
+
+        // 스키마 준비 (측정 제외)
+        launchUntilFirstResponse(profiles, datasourceUrl, path, workDir.resolve("prepare.log"),
+                                 "--spring.jpa.hibernate.ddl-auto=create");
+
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = launchUntilFirstResponse(profiles, datasourceUrl, path, workDir.resolve("run-" + run + ".log"));
+            System.out.printf("run %d : %d ms%n", run, millis[run]);
+        }
+        report(reportDir, profiles, path, millis);
+    }
+
+    private static long launchUntilFirstResponse(String profiles, String datasourceUrl, String path, Path log,
+                                                 String... extraArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                QuerydslApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profiles,
+                "--spring.datasource.url=" + datasourceUrl));
+        command.addAll(Arrays.asList(extraArgs));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                         .timeout(Duration.ofSeconds(10))
+                                         .GET()
+                                         .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 종료되었습니다. 로그 : " + log.toAbsolutePath());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(STARTUP_TIMEOUT + " 안에 첫 응답을 받지 못했습니다. 로그 : " + log.toAbsolutePath());
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void report(Path reportDir, String profiles, String path, long[] millis) throws IOException {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        String text = String.format("profiles=%s, path=%s%nruns(ms)=%s%nmin=%d ms, median=%d ms, max=%d ms%n",
+                profiles, path, Arrays.toString(millis), sorted[0], median, sorted[sorted.length - 1]);
+        Files.writeString(reportDir.resolve(now + ".txt"), text, StandardCharsets.UTF_8);
+
+        Path history = reportDir.resolve("history.csv");
+        if (!Files.exists(history)) {
+            Files.writeString(history, "time,profiles,enhanced,runs,min_ms,median_ms,max_ms\n", StandardCharsets.UTF_8);
+        }
+        Files.writeString(history, String.format("%s,%s,%s,%d,%d,%d,%d%n",
+                        now, profiles, isEnhanced(), millis.length, sorted[0], median, sorted[sorted.length - 1]),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        System.out.print(text);
+    }
+
+    // -Pprod 빌드 여부 (Member 가 bytecode enhancement 되었는지)
+    private static boolean isEnhanced() {
+        try {
+            Class<?> enhanced = Class.forName("org.hibernate.engine.spi.ManagedEntity");
+            return enhanced.isAssignableFrom(Class.forName("com.example.querydsl.entity.Member"));
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
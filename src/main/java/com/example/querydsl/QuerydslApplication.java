@@ -2,8 +2,14 @@ package com.example.querydsl;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@EnableScheduling
+// R2DBC ConnectionFactory 빈이 생기면 JDBC DataSource, JPA 트랜잭션 매니저 자동설정이 빠지므로 제외한다.
+// (조회 전용 ConnectionFactory 는 MemberReactiveRepository 내부에서 직접 만든다)
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class QuerydslApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,71 @@
+package com.example.querydsl.analytics;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * MemberColumns 를 fork/join 으로 나눠서 팀별 나이 집계(건수, 평균, 최소/최대, 히스토그램, 나이 많은 순 top N)를 계산한다.
+ * - 집계마다 groupBy 쿼리를 추가하지 않고, 한 번 읽은 컬럼 데이터로 여러 집계를 CPU 코어 수만큼 병렬 계산한다.
+ * - 행 단위 객체/Map 없이 팀 index 기반 primitive 배열에 누적하고, 하위 작업 결과를 합친다.
+ */
+@Component
+public class MemberAggregationEngine {
+    static final int MIN_SEQUENTIAL_ROWS = 1 << 13;
+    static final int MAX_TOP_N = 100;
+
+    private final ForkJoinPool pool;
+
+    public MemberAggregationEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    MemberAggregationEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public List<TeamAgeStats> aggregateByTeam(MemberColumns columns, int topN) {
+        if (topN < 0 || topN > MAX_TOP_N) {
+            throw new InvalidSearchRequestException("topN 은 0 ~ " + MAX_TOP_N + " 사이여야 합니다.");
+        }
+        // 하위 작업마다 팀 수 크기의 배열을 만들므로 작업 수는 병렬도의 몇 배 정도로 제한한다.
+        int sequentialRows = Math.max(MIN_SEQUENTIAL_ROWS, columns.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new AggregateTask(columns, topN, sequentialRows, 0, columns.size()))
+                   .toStats(columns);
+    }
+
+    private static class AggregateTask extends RecursiveTask<TeamAgeAccumulator> {
+        private final MemberColumns columns;
+        private final int topN;
+        private final int sequentialRows;
+        private final int from;
+        private final int to;
+
+        AggregateTask(MemberColumns columns, int topN, int sequentialRows, int from, int to) {
+            this.columns = columns;
+            this.topN = topN;
+            this.sequentialRows = sequentialRows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TeamAgeAccumulator compute() {
+            if (to - from <= sequentialRows) {
+                TeamAgeAccumulator accumulator = new TeamAgeAccumulator(columns.teamCount(), topN);
+                accumulator.accept(columns, from, to);
+                return accumulator;
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(columns, topN, sequentialRows, from, middle);
+            AggregateTask right = new AggregateTask(columns, topN, sequentialRows, middle, to);
+            left.fork();
+            TeamAgeAccumulator rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.querydsl.analytics;
+
+import java.util.Arrays;
+
+/**
+ * 집계용 회원 컬럼 데이터 (행마다 객체를 만들지 않고 컬럼별 primitive 배열로 보관)
+ * - teamId 는 정렬된 distinct 배열(teamIds)의 index(teamIndexes)로 바꿔서 팀별 집계를 배열 index 로 처리한다.
+ */
+public final class MemberColumns {
+    private final int size;
+    private final long[] memberIds;
+    private final int[] ages;
+    private final int[] teamIndexes;
+    private final long[] teamIds;
+
+    private MemberColumns(int size, long[] memberIds, int[] ages, int[] teamIndexes, long[] teamIds) {
+        this.size = size;
+        this.memberIds = memberIds;
+        this.ages = ages;
+        this.teamIndexes = teamIndexes;
+        this.teamIds = teamIds;
+    }
+
+    public static Builder builder(int initialCapacity) {
+        return new Builder(initialCapacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int teamCount() {
+        return teamIds.length;
+    }
+
+    long memberId(int row) {
+        return memberIds[row];
+    }
+
+    int age(int row) {
+        return ages[row];
+    }
+
+    int teamIndex(int row) {
+        return teamIndexes[row];
+    }
+
+    long teamId(int teamIndex) {
+        return teamIds[teamIndex];
+    }
+
+    public static final class Builder {
+        private int size;
+        private long[] memberIds;
+        private long[] teamIds;
+        private int[] ages;
+
+        private Builder(int initialCapacity) {
+            int capacity = Math.max(16, initialCapacity);
+            this.memberIds = new long[capacity];
+            this.teamIds = new long[capacity];
+            this.ages = new int[capacity];
+        }
+
+        public Builder add(long memberId, long teamId, int age) {
+            ensureCapacity(size + 1);
+            memberIds[size] = memberId;
+            teamIds[size] = teamId;
+            ages[size] = age;
+            size++;
+            return this;
+        }
+
+        // 다른 builder 의 행을 뒤에 이어붙인다. (파티션별 결과 병합)
+        public Builder addAll(Builder other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.memberIds, 0, memberIds, size, other.size);
+            System.arraycopy(other.teamIds, 0, teamIds, size, other.size);
+            System.arraycopy(other.ages, 0, ages, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        public MemberColumns build() {
+            long[] distinctTeamIds = Arrays.copyOf(teamIds, size);
+            Arrays.sort(distinctTeamIds);
+            int teamCount = 0;
+            for (int i = 0; i < distinctTeamIds.length; i++) {
+                if (i == 0 || distinctTeamIds[i] != distinctTeamIds[i - 1]) {
+                    distinctTeamIds[teamCount++] = distinctTeamIds[i];
+                }
+            }
+            distinctTeamIds = Arrays.copyOf(distinctTeamIds, teamCount);
+
+            int[] teamIndexes = new int[size];
+            for (int row = 0; row < size; row++) {
+                teamIndexes[row] = Arrays.binarySearch(distinctTeamIds, teamIds[row]);
+            }
+            return new MemberColumns(size, Arrays.copyOf(memberIds, size), Arrays.copyOf(ages, size),
+                                     teamIndexes, distinctTeamIds);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > memberIds.length) {
+                int newCapacity = Math.max(capacity, memberIds.length << 1);
+                memberIds = Arrays.copyOf(memberIds, newCapacity);
+                teamIds = Arrays.copyOf(teamIds, newCapacity);
+                ages = Arrays.copyOf(ages, newCapacity);
+            }
+        }
+    }
+}
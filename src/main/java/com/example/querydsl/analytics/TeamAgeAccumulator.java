@@ -0,0 +1,121 @@
+package com.example.querydsl.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 팀별 나이 부분 집계, 팀 index 로 접근하는 primitive 배열만 사용한다.
+ * - top N : 팀마다 topN 칸을 (나이 내림차순, memberId 오름차순)으로 정렬된 상태로 유지 (삽입 정렬)
+ */
+final class TeamAgeAccumulator {
+    static final int AGE_BUCKET_WIDTH = 10;
+    static final int AGE_BUCKETS = 12; // 0~9, 10~19, ..., 110 이상
+
+    private final int teamCount;
+    private final int topN;
+    private final long[] counts;
+    private final long[] sums;
+    private final int[] minAges;
+    private final int[] maxAges;
+    private final long[] histogram;    // [teamIndex * AGE_BUCKETS + bucket]
+    private final int[] topAges;       // [teamIndex * topN + rank]
+    private final long[] topMemberIds; // [teamIndex * topN + rank]
+    private final int[] topSizes;
+
+    TeamAgeAccumulator(int teamCount, int topN) {
+        this.teamCount = teamCount;
+        this.topN = topN;
+        this.counts = new long[teamCount];
+        this.sums = new long[teamCount];
+        this.minAges = new int[teamCount];
+        this.maxAges = new int[teamCount];
+        this.histogram = new long[teamCount * AGE_BUCKETS];
+        this.topAges = new int[teamCount * topN];
+        this.topMemberIds = new long[teamCount * topN];
+        this.topSizes = new int[teamCount];
+        Arrays.fill(minAges, Integer.MAX_VALUE);
+        Arrays.fill(maxAges, Integer.MIN_VALUE);
+    }
+
+    void accept(MemberColumns columns, int from, int to) {
+        for (int row = from; row < to; row++) {
+            int team = columns.teamIndex(row);
+            int age = columns.age(row);
+            counts[team]++;
+            sums[team] += age;
+            minAges[team] = Math.min(minAges[team], age);
+            maxAges[team] = Math.max(maxAges[team], age);
+            histogram[team * AGE_BUCKETS + bucket(age)]++;
+            offerTop(team, columns.memberId(row), age);
+        }
+    }
+
+    TeamAgeAccumulator merge(TeamAgeAccumulator other) {
+        for (int team = 0; team < teamCount; team++) {
+            counts[team] += other.counts[team];
+            sums[team] += other.sums[team];
+            minAges[team] = Math.min(minAges[team], other.minAges[team]);
+            maxAges[team] = Math.max(maxAges[team], other.maxAges[team]);
+            for (int rank = 0; rank < other.topSizes[team]; rank++) {
+                offerTop(team, other.topMemberIds[team * topN + rank], other.topAges[team * topN + rank]);
+            }
+        }
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        return this;
+    }
+
+    List<TeamAgeStats> toStats(MemberColumns columns) {
+        List<TeamAgeStats> stats = new ArrayList<>(teamCount);
+        for (int team = 0; team < teamCount; team++) {
+            if (counts[team] == 0) {
+                continue;
+            }
+            List<TeamAgeStats.MemberAge> oldest = new ArrayList<>(topSizes[team]);
+            for (int rank = 0; rank < topSizes[team]; rank++) {
+                oldest.add(new TeamAgeStats.MemberAge(topMemberIds[team * topN + rank], topAges[team * topN + rank]));
+            }
+            stats.add(new TeamAgeStats(columns.teamId(team),
+                                        counts[team],
+                                        (double) sums[team] / counts[team],
+                                        minAges[team],
+                                        maxAges[team],
+                                        Arrays.copyOfRange(histogram, team * AGE_BUCKETS, (team + 1) * AGE_BUCKETS),
+                                        oldest));
+        }
+        return stats;
+    }
+
+    private void offerTop(int team, long memberId, int age) {
+        if (topN == 0) {
+            return;
+        }
+        int base = team * topN;
+        int size = topSizes[team];
+        if (size == topN && !isBefore(age, memberId, topAges[base + size - 1], topMemberIds[base + size - 1])) {
+            return;
+        }
+
+        int position = size == topN ? size - 1 : size; // 가득 찼으면 마지막(가장 어린) 칸을 덮어쓴다.
+        while (position > 0 && isBefore(age, memberId, topAges[base + position - 1], topMemberIds[base + position - 1])) {
+            topAges[base + position] = topAges[base + position - 1];
+            topMemberIds[base + position] = topMemberIds[base + position - 1];
+            position--;
+        }
+        topAges[base + position] = age;
+        topMemberIds[base + position] = memberId;
+        if (size < topN) {
+            topSizes[team] = size + 1;
+        }
+    }
+
+    private static boolean isBefore(int age, long memberId, int otherAge, long otherMemberId) {
+        return age > otherAge || (age == otherAge && memberId < otherMemberId);
+    }
+
+    private static int bucket(int age) {
+        return Math.min(Math.max(age, 0) / AGE_BUCKET_WIDTH, AGE_BUCKETS - 1);
+    }
+}
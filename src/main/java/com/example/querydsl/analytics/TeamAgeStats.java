@@ -0,0 +1,41 @@
+package com.example.querydsl.analytics;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 팀별 나이 집계 결과
+ * - ageHistogram[i] : 나이가 i * 10 ~ i * 10 + 9 인 회원 수 (마지막 구간은 그 이상 전부)
+ * - oldest : 나이가 많은 순 상위 N 명 (나이가 같으면 memberId 순)
+ */
+@Getter
+@ToString
+public class TeamAgeStats {
+    private final long teamId;
+    private final long count;
+    private final double averageAge;
+    private final int minAge;
+    private final int maxAge;
+    private final long[] ageHistogram;
+    private final List<MemberAge> oldest;
+
+    public TeamAgeStats(long teamId, long count, double averageAge, int minAge, int maxAge,
+                        long[] ageHistogram, List<MemberAge> oldest) {
+        this.teamId = teamId;
+        this.count = count;
+        this.averageAge = averageAge;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.ageHistogram = ageHistogram;
+        this.oldest = oldest;
+    }
+
+    @Value
+    public static class MemberAge {
+        long memberId;
+        int age;
+    }
+}
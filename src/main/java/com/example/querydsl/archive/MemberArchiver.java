@@ -0,0 +1,197 @@
+package com.example.querydsl.archive;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.MemberArchive;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.outbox.ChangeType;
+import com.example.querydsl.outbox.OutboxBulkOperations;
+import com.example.querydsl.outbox.OutboxRecorder;
+import com.example.querydsl.team.TeamMemberCounter;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.entity.QMember.member;
+
+/**
+ * 오래 활동하지 않은 회원을 member(hot) 에서 member_archive(cold) 로 옮긴다.
+ * - member 는 최근 활동 회원만 남으므로 검색 인덱스와 스캔 범위가 누적 회원 수가 아닌 활성 회원 수에 비례한다.
+ * - chunkSize 건씩 별도 트랜잭션으로 옮긴다. (대상 id 잠금 → insert ... select → 벌크 delete)
+ *   한 번 실행에 maxChunksPerRun 개 chunk 까지만 처리하고, 나머지는 다음 주기에 이어서 처리한다.
+ * - 삭제는 OutboxBulkOperations 로 실행해서 chunk 마다 outbox 에 BULK_DELETED 가 남는다. (DataVersion 증가)
+ *   벌크 delete 는 엔티티 리스너를 거치지 않으므로 팀별 삭제 수를 TeamMemberCounter 에 직접 넘긴다.
+ * - last_active_at 은 가입 시각으로 시작해서 회원 정보가 바뀔 때마다(Member 의 @PreUpdate) 갱신된다.
+ * - 보관된 회원은 restore 로 같은 MEMBER_ID 그대로 member 에 되돌린다.
+ * - 주기 작업은 기본으로 꺼 두고 member.archive.enabled 로 켠다.
+ */
+@Slf4j
+@Component
+public class MemberArchiver {
+    private static final String INSERT_ARCHIVE_SQL =
+            "insert into member_archive (member_id, username, age, team_id, team_name, last_active_at, archived_at)"
+            + " select m.member_id, m.username, m.age, m.team_id, m.team_name, m.last_active_at, :archivedAt"
+            + " from member m where m.member_id in (:ids)";
+    // 팀이 아직 있으면 다시 연결하고 현재 팀 이름을 채운다. (member_archive 의 TEAM_ID 는 FK 가 없어서 없어진 팀일 수 있다)
+    private static final String RESTORE_MEMBER_SQL =
+            "insert into member (member_id, username, age, team_id, team_name, last_active_at)"
+            + " select a.member_id, a.username, a.age, t.team_id, t.name, :restoredAt"
+            + " from member_archive a left join team t on t.team_id = a.team_id where a.member_id = :memberId";
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final OutboxBulkOperations bulkOperations;
+    private final TeamMemberCounter teamMemberCounter;
+    private final OutboxRecorder outboxRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int inactiveAfterDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public MemberArchiver(EntityManager em,
+                          OutboxBulkOperations bulkOperations,
+                          TeamMemberCounter teamMemberCounter,
+                          OutboxRecorder outboxRecorder,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${member.archive.enabled:false}") boolean enabled,
+                          @Value("${member.archive.inactive-after-days:180}") int inactiveAfterDays,
+                          @Value("${member.archive.chunk-size:1000}") int chunkSize,
+                          @Value("${member.archive.max-chunks-per-run:100}") int maxChunksPerRun) {
+        if (inactiveAfterDays <= 0 || chunkSize <= 0 || maxChunksPerRun <= 0) {
+            throw new IllegalArgumentException("member.archive.inactive-after-days, chunk-size, max-chunks-per-run 은 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.bulkOperations = bulkOperations;
+        this.teamMemberCounter = teamMemberCounter;
+        this.outboxRecorder = outboxRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.inactiveAfterDays = inactiveAfterDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${member.archive.interval-ms:3600000}",
+               initialDelayString = "${member.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveInactive();
+        }
+    }
+
+    /**
+     * 마지막 활동이 inactive-after-days 보다 오래된 회원을 옮긴다. 반환값은 옮긴 회원 수
+     */
+    public long archiveInactive() {
+        return archive(LocalDateTime.now().minusDays(inactiveAfterDays));
+    }
+
+    /**
+     * 마지막 활동이 cutoff 이전인 회원을 옮긴다. 반환값은 옮긴 회원 수
+     */
+    public long archive(LocalDateTime cutoff) {
+        long archived = 0;
+        int chunks = 0;
+        while (chunks < maxChunksPerRun) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            chunks++;
+        }
+        if (archived > 0) {
+            log.info("회원 보관 완료 : cutoff = {}, 옮긴 회원 수 = {}, chunk 수 = {}{}", cutoff, archived, chunks,
+                        chunks == maxChunksPerRun ? " (max-chunks-per-run 도달, 다음 주기에 이어서 처리)" : "");
+        }
+        return archived;
+    }
+
+    /**
+     * 보관된 회원을 같은 MEMBER_ID 로 member 에 되돌린다. 보관된 회원이 아니면 false
+     * - last_active_at 은 복원 시각이 된다. (다음 보관 주기에 바로 다시 옮겨지지 않는다)
+     * - outbox 에 CREATED 를 남기고(DataVersion 증가), 팀이 있으면 team.member_count 를 1 올린다.
+     */
+    public boolean restore(Long memberId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> restoreMember(memberId)));
+    }
+
+    private boolean restoreMember(Long memberId) {
+        // 같은 회원을 동시에 복원하지 않도록 보관 행을 잠근다.
+        MemberArchive archived = em.find(MemberArchive.class, memberId, LockModeType.PESSIMISTIC_WRITE);
+        if (archived == null) {
+            return false;
+        }
+
+        em.createNativeQuery(RESTORE_MEMBER_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Member.class)
+                .setParameter("restoredAt", LocalDateTime.now())
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+        em.remove(archived);
+
+        Long teamId = queryFactory
+                        .select(member.team.id)
+                        .from(member)
+                        .where(member.id.eq(memberId))
+                        .fetchOne();
+        teamMemberCounter.add(teamId, 1);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("username", archived.getUsername());
+        payload.put("age", archived.getAge());
+        payload.put("teamId", teamId);
+        outboxRecorder.record("Member", memberId, ChangeType.CREATED, payload);
+        return true;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        // idx_member_last_active 로 대상만 읽고, 옮기는 동안 활동(touch)/변경되지 않도록 잠근다.
+        List<Long> ids = queryFactory
+                            .select(member.id)
+                            .from(member)
+                            .where(member.lastActiveAt.lt(cutoff))
+                            .orderBy(member.id.asc())
+                            .limit(chunkSize)
+                            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                            .fetch();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // 회원 데이터를 애플리케이션으로 읽지 않고 DB 안에서 복사한다.
+        em.createNativeQuery(INSERT_ARCHIVE_SQL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(MemberArchive.class)
+                .setParameter("archivedAt", LocalDateTime.now())
+                .setParameterList("ids", ids)
+                .executeUpdate();
+
+        List<Tuple> teamCounts = queryFactory
+                                    .select(member.team.id, member.count())
+                                    .from(member)
+                                    .where(member.id.in(ids))
+                                    .groupBy(member.team.id)
+                                    .fetch();
+        bulkOperations.delete(member, member.id.in(ids));
+        for (Tuple teamCount : teamCounts) {
+            teamMemberCounter.add(teamCount.get(member.team.id), -teamCount.get(member.count()));
+        }
+        return ids.size();
+    }
+}
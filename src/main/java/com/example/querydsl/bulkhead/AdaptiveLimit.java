@@ -0,0 +1,34 @@
+package com.example.querydsl.bulkhead;
+
+/**
+ * 관측한 지연 시간으로 동시 실행 한도를 조절하는 AIMD(Additive Increase, Multiplicative Decrease) limit
+ * - 지연이 목표 이하이면 한도만큼 성공할 때마다 1 씩 늘린다. (limit += 1 / limit)
+ * - 지연이 목표를 넘거나 실패하면 backoffRatio 만큼 줄인다.
+ */
+public class AdaptiveLimit {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private double limit;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+    }
+
+    public synchronized void onSample(long latencyNanos, boolean failed) {
+        if (failed || latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.querydsl.bulkhead;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 동시 실행 수를 AdaptiveLimit 으로 제한하고, 초과분은 제한된 길이의 대기열에서 기다리게 하는 bulkhead
+ * - 대기열이 가득 차면 기다리지 않고 429 로 거절한다.
+ * - 대기 시간(maxWait) 안에 자리가 나지 않으면 503 으로 거절한다.
+ */
+public class Bulkhead {
+    @Getter
+    private final String name;
+    private final AdaptiveLimit limit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int inFlight;
+    private int waiting;
+
+    public Bulkhead(String name, AdaptiveLimit limit, int maxQueue, long maxWaitMillis) {
+        this.name = name;
+        this.limit = limit;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    public <T> T execute(Supplier<T> task) {
+        acquire();
+        return run(task);
+    }
+
+    /**
+     * 대기하지 않는 execute, 자리가 없으면 바로 429 로 거절한다.
+     * (스레드 수가 커넥션 수에 맞춰진 executor 에서 대기하면 커넥션 없이 스레드만 차지하므로 그 경로에서 사용한다)
+     */
+    public <T> T executeWithoutWaiting(Supplier<T> task) {
+        tryAcquire();
+        return run(task);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = task.get();
+            failed = false;
+            return result;
+        } finally {
+            limit.onSample(System.nanoTime() - start, failed);
+            release();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit.getLimit()) {
+                inFlight++;
+                return;
+            }
+            if (waiting >= maxQueue) {
+                throw new BulkheadRejectedException(name, HttpStatus.TOO_MANY_REQUESTS);
+            }
+
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= limit.getLimit()) {
+                    if (remaining <= 0) {
+                        throw new BulkheadRejectedException(name, HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BulkheadRejectedException(name, HttpStatus.SERVICE_UNAVAILABLE);
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= limit.getLimit()) {
+                throw new BulkheadRejectedException(name, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            // 이번 표본으로 한도가 늘었으면 여러 자리가 한꺼번에 날 수 있으므로 모두 깨우고, 각자 한도를 다시 확인하게 한다.
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.querydsl.bulkhead;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class BulkheadRejectedException extends RuntimeException {
+    private final String bulkhead;
+    private final HttpStatus status;
+
+    public BulkheadRejectedException(String bulkhead, HttpStatus status) {
+        super("bulkhead 포화로 요청 거절 : " + bulkhead);
+        this.bulkhead = bulkhead;
+        this.status = status;
+    }
+}
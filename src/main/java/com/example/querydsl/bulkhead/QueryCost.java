@@ -0,0 +1,58 @@
+package com.example.querydsl.bulkhead;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.StringUtils;
+
+/**
+ * 검색 요청의 예상 비용 등급과 등급별 bulkhead 기본값
+ * - initialLimit, maxLimit : 동시 실행 수(adaptive limit 의 시작값, 상한)
+ * - maxQueue : 대기열 길이, 넘치면 즉시 거절
+ */
+@Getter
+@RequiredArgsConstructor
+public enum QueryCost {
+    LIGHT(8, 16, 32),
+    MEDIUM(4, 8, 16),
+    HEAVY(1, 3, 4);
+
+    private final int initialLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+
+    /**
+     * 어떤 조건이 있는지, 몇 건을 가져오는지로 비용을 추정한다.
+     * - username 동등 조건은 선택도가 높아 가볍다.
+     * - 조건이 없거나 나이 범위만 있으면 조인 대상이 넓다. 페이징이 없으면(v1) 전체를 가져오므로 가장 무겁다.
+     * - includeArchived 는 member_archive 까지 읽으므로 한 등급 무겁게 본다.
+     */
+    public static QueryCost classify(MemberSearchCondition condition, Pageable pageable) {
+        QueryCost cost = classifyHot(condition, pageable);
+        return condition.isIncludeArchived() ? cost.heavier() : cost;
+    }
+
+    private static QueryCost classifyHot(MemberSearchCondition condition, Pageable pageable) {
+        if (StringUtils.hasLength(condition.getUsername())) {
+            return LIGHT;
+        }
+
+        boolean paged = pageable != null && pageable.isPaged();
+        boolean filtered = StringUtils.hasLength(condition.getTeamName())
+                            || condition.getAgeGoe() != null
+                            || condition.getAgeLoe() != null;
+
+        if (!paged) {
+            return filtered ? MEDIUM : HEAVY;
+        }
+        if (pageable.getPageSize() > 100 || pageable.getOffset() > 10_000) {
+            return HEAVY;
+        }
+        return filtered ? LIGHT : MEDIUM;
+    }
+
+    private QueryCost heavier() {
+        return this == HEAVY ? HEAVY : values()[ordinal() + 1];
+    }
+}
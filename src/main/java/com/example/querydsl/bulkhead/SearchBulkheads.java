@@ -0,0 +1,49 @@
+package com.example.querydsl.bulkhead;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 검색 endpoint + 쿼리 비용 등급(QueryCost) 별 bulkhead
+ * - 무거운 전체 조회가 몰려도 자기 bulkhead 안에서만 대기/거절되므로 커넥션 풀과 다른 endpoint 가 보호된다.
+ */
+@Component
+public class SearchBulkheads {
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+    private final long targetLatencyNanos;
+
+    public SearchBulkheads(@Value("${bulkhead.max-wait-ms:200}") long maxWaitMillis,
+                           @Value("${bulkhead.target-latency-ms:100}") long targetLatencyMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+    }
+
+    public <T> T execute(String endpoint, MemberSearchCondition condition, Pageable pageable, Supplier<T> task) {
+        QueryCost cost = QueryCost.classify(condition, pageable);
+        return bulkhead(endpoint, cost).execute(task);
+    }
+
+    /**
+     * 대기 없이 실행, 자리가 없으면 바로 거절한다. (Bulkhead.executeWithoutWaiting)
+     */
+    public <T> T executeWithoutWaiting(String endpoint, MemberSearchCondition condition, Pageable pageable, Supplier<T> task) {
+        QueryCost cost = QueryCost.classify(condition, pageable);
+        return bulkhead(endpoint, cost).executeWithoutWaiting(task);
+    }
+
+    public Bulkhead bulkhead(String endpoint, QueryCost cost) {
+        return bulkheads.computeIfAbsent(endpoint + ":" + cost, name -> new Bulkhead(
+                name,
+                new AdaptiveLimit(cost.getInitialLimit(), 1, cost.getMaxLimit(), targetLatencyNanos),
+                cost.getMaxQueue(),
+                maxWaitMillis));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.querydsl.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 endpoint 에서 repository(JDBC) 작업을 실행하는 전용 executor
+ * - 스레드 수를 Hikari 커넥션 풀 크기에 맞춰서 커넥션을 기다리며 블로킹되는 스레드가 생기지 않게 한다.
+ * - 대기열도 제한하고, 넘치면 TaskRejectedException(→ 503) 으로 거절한다.
+ */
+@Configuration
+public class DatabaseExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor dbExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                             @Value("${db-executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("db-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
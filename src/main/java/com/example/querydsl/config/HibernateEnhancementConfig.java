@@ -0,0 +1,21 @@
+package com.example.querydsl.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 빌드 시 bytecode enhancement 된 엔티티 설정 (build.gradle hibernate.enhance)
+ * - LAZY 연관관계(Member.team)를 프록시 서브클래스 대신 enhancement 된 엔티티 인스턴스 자체로 지연 로딩한다.
+ *   (id 접근은 로딩하지 않고, 다른 필드 접근 시 로딩)
+ * - dirty tracking 은 enhancement 만으로 적용되어, flush 시 스냅샷 비교 대신 변경된 필드만 확인한다.
+ * 모든 프로파일/테스트에 같게 적용되도록 yml 이 아닌 설정 클래스에 둔다.
+ */
+@Configuration
+public class HibernateEnhancementConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer enhancementAsProxyCustomizer() {
+        return properties -> properties.put("hibernate.bytecode.allow_enhancement_as_proxy", "true");
+    }
+}
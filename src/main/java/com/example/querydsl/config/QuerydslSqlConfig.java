@@ -0,0 +1,56 @@
+package com.example.querydsl.config;
+
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLTemplatesRegistry;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * querydsl-sql 설정
+ * - SpringConnectionProvider 는 현재 스프링 트랜잭션(JpaTransactionManager)의 JDBC 커넥션을 쓰므로
+ *   SQLQueryFactory 는 트랜잭션 안에서만 사용할 수 있다.
+ * - SQL 방언(SQLTemplates)은 DB 메타데이터로 고른다. (H2 → H2Templates)
+ * - 트랜잭션 timeout 이 있으면 남은 시간을 문장의 query timeout 으로 건다. (JPA 쿼리는 SharedEntityManager 가 같은 일을 한다)
+ */
+@Configuration
+public class QuerydslSqlConfig {
+
+    @Bean
+    public com.querydsl.sql.Configuration querydslSqlConfiguration(DataSource dataSource) throws SQLException {
+        SQLTemplates templates;
+        try (Connection connection = dataSource.getConnection()) {
+            templates = new SQLTemplatesRegistry().getTemplates(connection.getMetaData());
+        }
+        com.querydsl.sql.Configuration configuration = new com.querydsl.sql.Configuration(templates);
+        configuration.setExceptionTranslator(new SpringExceptionTranslator());
+        configuration.addListener(new SQLBaseListener() {
+            @Override
+            public void preExecute(SQLListenerContext context) {
+                if (context.getPreparedStatement() == null) {
+                    return;
+                }
+                try {
+                    DataSourceUtils.applyTransactionTimeout(context.getPreparedStatement(), dataSource);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("query timeout 설정 실패", e);
+                }
+            }
+        });
+        return configuration;
+    }
+
+    @Bean
+    public SQLQueryFactory sqlQueryFactory(com.querydsl.sql.Configuration querydslSqlConfiguration, DataSource dataSource) {
+        return new SQLQueryFactory(querydslSqlConfiguration, new SpringConnectionProvider(dataSource));
+    }
+}
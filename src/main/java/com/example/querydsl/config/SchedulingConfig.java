@@ -0,0 +1,38 @@
+package com.example.querydsl.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * spring.main.lazy-initialization(prod 프로파일)에서도 @Scheduled 작업이 등록되게 한다.
+ * - 지연 초기화된 빈은 처음 사용될 때까지 만들어지지 않아서 @Scheduled 메서드도 등록되지 않는다.
+ * - @Scheduled 메서드가 있는 빈은 클래스마다 @Lazy(false) 를 붙이지 않고 이 필터로 모두 즉시 초기화한다.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeanLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethod(beanType);
+    }
+
+    // ScheduledAnnotationBeanPostProcessor 와 같은 기준(@Scheduled, @Schedules, 메타 애너테이션 포함)으로 찾는다.
+    private static boolean hasScheduledMethod(Class<?> beanType) {
+        if (!AnnotationUtils.isCandidateClass(beanType, List.of(Scheduled.class, Schedules.class))) {
+            return false;
+        }
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Set<Scheduled>>) method -> {
+            Set<Scheduled> scheduled = AnnotatedElementUtils.getMergedRepeatableAnnotations(method, Scheduled.class, Schedules.class);
+            return scheduled.isEmpty() ? null : scheduled;
+        }).isEmpty();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.bulkhead.BulkheadRejectedException;
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.team.InvalidTeamRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionAdvice {
+
+    @ExceptionHandler(BulkheadRejectedException.class)
+    public ResponseEntity<Map<String, String>> bulkheadRejected(BulkheadRejectedException e) {
+        log.warn("[{}] {}", e.getStatus().value(), e.getMessage());
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
+    }
+
+    // 클라이언트 입력 검증 실패만 400 으로 응답한다. (그 외 IllegalArgumentException 은 서버 오류로 남긴다)
+    @ExceptionHandler({InvalidSearchRequestException.class, InvalidTeamRequestException.class})
+    public ResponseEntity<Map<String, String>> invalidRequest(RuntimeException e) {
+        log.warn("[400] {}", e.getMessage());
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> taskRejected(TaskRejectedException e) {
+        log.warn("[503] db executor 대기열 포화 : {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", "요청이 많아 처리할 수 없습니다."));
+    }
+}
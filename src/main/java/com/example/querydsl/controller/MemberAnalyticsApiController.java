@@ -0,0 +1,126 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.analytics.MemberAggregationEngine;
+import com.example.querydsl.analytics.TeamAgeStats;
+import com.example.querydsl.bulkhead.QueryCost;
+import com.example.querydsl.bulkhead.SearchBulkheads;
+import com.example.querydsl.dto.MemberAgeSummary;
+import com.example.querydsl.dto.MemberRankDto;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberPartitionedSearchRepository;
+import com.example.querydsl.repository.MemberSqlRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 전체 회원 대상 export / 집계 / 순위 API
+ * - MEMBER_ID 범위를 partitions 개로 나눠 병렬 조회한다. (생략 시 CPU 코어 수, 커넥션 풀 크기 중 작은 값)
+ * - export, team-stats 는 전체 테이블을 읽으므로 HEAVY 등급 bulkhead 안에서 실행한다. 포화 시 429/503 으로 거절한다.
+ * - export 는 결과를 모으지 않고 조회한 구간 순서대로 응답에 바로 기록한다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class MemberAnalyticsApiController {
+    private final MemberPartitionedSearchRepository partitionedSearchRepository;
+    private final MemberAggregationEngine aggregationEngine;
+    private final MemberSqlRepository memberSqlRepository;
+    private final SearchBulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+
+    // JSON 배열을 구간마다 기록하고 flush 한다. 첫 구간을 기록하기 전의 오류(거절, 잘못된 조건)는 일반 오류 응답으로 나간다.
+    @GetMapping("/api/v1/members/export")
+    public void exportMembers(MemberSearchCondition condition,
+                              @RequestParam(required = false) Integer partitions,
+                              HttpServletResponse response) {
+        log.info("[GET] /api/v1/members/export  =>  export Member, 파티션 병렬 조회, condition = {}", condition);
+        bulkheads.bulkhead("export", QueryCost.HEAVY).execute(() -> {
+            JsonArrayWriter writer = new JsonArrayWriter(response);
+            partitionedSearchRepository.export(condition, partitionsOrDefault(partitions), writer::write);
+            writer.finish();
+            return null;
+        });
+    }
+
+    @GetMapping("/api/v1/members/age-summary")
+    public MemberAgeSummary memberAgeSummary(MemberSearchCondition condition,
+                                             @RequestParam(required = false) Integer partitions) {
+        log.info("[GET] /api/v1/members/age-summary  =>  Member 나이 집계, 파티션 병렬 집계, condition = {}", condition);
+        return partitionedSearchRepository.ageSummary(condition, partitionsOrDefault(partitions));
+    }
+
+    // 팀별 건수, 평균/최소/최대 나이, 10살 단위 히스토그램, 나이 많은 순 topN (DB 는 컬럼 조회만, 집계는 fork/join)
+    @GetMapping("/api/v1/members/team-stats")
+    public List<TeamAgeStats> teamAgeStats(MemberSearchCondition condition,
+                                           @RequestParam(defaultValue = "3") int topN,
+                                           @RequestParam(required = false) Integer partitions) {
+        log.info("[GET] /api/v1/members/team-stats  =>  팀별 나이 집계, topN = {}, condition = {}", topN, condition);
+        return bulkheads.bulkhead("team-stats", QueryCost.HEAVY).execute(() -> aggregationEngine.aggregateByTeam(
+                partitionedSearchRepository.scanColumns(condition, partitionsOrDefault(partitions)), topN));
+    }
+
+    // 팀별 나이 순위 (window function 한 번의 쿼리), topN 이 있으면 팀마다 나이 많은 topN 명만
+    @GetMapping("/api/v1/members/team-rank")
+    public List<MemberRankDto> teamRank(MemberSearchCondition condition,
+                                        @RequestParam(required = false) Integer topN) {
+        log.info("[GET] /api/v1/members/team-rank  =>  팀별 나이 순위, topN = {}, condition = {}", topN, condition);
+        return memberSqlRepository.searchTeamRank(condition, topN);
+    }
+
+    private int partitionsOrDefault(Integer partitions) {
+        return partitions != null ? partitions : partitionedSearchRepository.getMaxPartitions();
+    }
+
+    // 첫 기록 시점에 응답을 시작한다. (그 전에는 응답이 커밋되지 않는다)
+    private class JsonArrayWriter {
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+
+        private JsonArrayWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void write(List<MemberTeamDto> rows) {
+            try {
+                JsonGenerator gen = start();
+                for (MemberTeamDto row : rows) {
+                    gen.writeObject(row);
+                }
+                gen.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            try {
+                JsonGenerator gen = start();
+                gen.writeEndArray();
+                gen.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private JsonGenerator start() throws IOException {
+            if (generator == null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                generator = objectMapper.createGenerator(response.getOutputStream());
+                generator.writeStartArray();
+            }
+            return generator;
+        }
+    }
+}
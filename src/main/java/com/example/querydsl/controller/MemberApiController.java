@@ -1,43 +1,155 @@
 package com.example.querydsl.controller;
 
+import com.example.querydsl.archive.MemberArchiver;
+import com.example.querydsl.bulkhead.SearchBulkheads;
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldPage;
+import com.example.querydsl.dto.MemberFieldRows;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.MemberTeamPage;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.outbox.DataVersion;
+import com.example.querydsl.repository.CoalescingMemberSearchRepository;
 import com.example.querydsl.repository.MemberJpaRepository;
-import com.example.querydsl.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @RestController
 public class MemberApiController {
     private final MemberJpaRepository memberJpaRepository;
-    private final MemberRepository memberRepository;
+    private final DataVersion dataVersion;
+    private final SearchBulkheads bulkheads;
+    private final CoalescingMemberSearchRepository coalescingRepository;
+    private final MemberArchiver memberArchiver;
+
+    // If-None-Match 가 현재 데이터 버전의 ETag 와 같으면 검색 쿼리 없이 304 를 응답한다. (checkNotModified 가 ETag 헤더도 설정)
+    // 데이터 버전은 요청당 한 번 읽어서 ETag 와 single-flight key 에 같이 쓴다.
+    // 동시에 들어온 같은 조건의 요청은 하나로 합치고(single-flight), 대표 요청(leader)만
+    // endpoint + 쿼리 비용 등급별 bulkhead 안에서 실행한다. 포화 시 429/503 으로 빠르게 거절한다.
+    // v2, v3, slice 는 member.search.engine 으로 고른 구현(Querydsl-JPA / querydsl-sql)으로 조회한다.
+    // includeArchived=true 이면 member_archive 까지 union 으로 검색하므로 querydsl-sql 구현으로 조회한다. (v1 포함)
 
     @GetMapping("/api/v1/members")
-    public List<MemberTeamDto> searchAllMemberV1(MemberSearchCondition condition) {
+    public List<MemberTeamDto> searchAllMemberV1(MemberSearchCondition condition, WebRequest webRequest) {
         log.info("[GET] /api/v1/members  =>  search Member v1, 순수 JPA Repository(Querydsl) 동적쿼리");
         log.info("MemberSearchCondition = {}", condition);
-        return memberJpaRepository.searchWhereParameter(condition);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "v1", condition))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("v1", version, condition, null,
+                () -> bulkheads.execute("v1", condition, null, () -> condition.isIncludeArchived()
+                        ? coalescingRepository.getSearchRepository(condition).searchWhereParameter(condition)
+                        : memberJpaRepository.searchWhereParameter(condition)));
     }
 
     @GetMapping("/api/v2/members")
-    public Page<MemberTeamDto> searchAllMemberV2(MemberSearchCondition condition, Pageable pageable) {
+    public MemberTeamPage searchAllMemberV2(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
         log.info("[GET] /api/v2/members  =>  search Member v2, Spring Data Repository(Querydsl), 동적쿼리 + 페이징");
         log.info("MemberSearchCondition = {}", condition);
-        return memberRepository.searchPaginationSimple(condition, pageable);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "v2", condition, pageable))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("v2", version, condition, pageable,
+                () -> bulkheads.execute("v2", condition, pageable,
+                        () -> MemberTeamPage.of(coalescingRepository.getSearchRepository(condition).searchPaginationSimple(condition, pageable))));
     }
 
     @GetMapping("/api/v3/members")
-    public Page<MemberTeamDto> searchAllMemberV3(MemberSearchCondition condition, Pageable pageable) {
+    public MemberTeamPage searchAllMemberV3(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
         log.info("[GET] /api/v2/members  =>  search Member v3, Spring Data Repository(Querydsl), 동적쿼리 + 페이징");
         log.info("MemberSearchCondition = {}", condition);
-        return memberRepository.searchPaginationCountQueryOptimization(condition, pageable);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "v3", condition, pageable))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("v3", version, condition, pageable,
+                () -> bulkheads.execute("v3", condition, pageable,
+                        () -> MemberTeamPage.of(coalescingRepository.getSearchRepository(condition).searchPaginationCountQueryOptimization(condition, pageable))));
+    }
+
+    // 무한 스크롤용, 카운트 쿼리 없이 hasNext 만 응답 (totalElements, totalPages 생략)
+    @GetMapping({"/api/v2/members/slice", "/api/v3/members/slice"})
+    public MemberTeamPage searchMemberSlice(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
+        log.info("[GET] /api/v2|v3/members/slice  =>  search Member Slice, 동적쿼리 + 카운트 없는 페이징");
+        log.info("MemberSearchCondition = {}", condition);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "slice", condition, pageable))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("slice", version, condition, pageable,
+                () -> bulkheads.execute("slice", condition, pageable,
+                        () -> MemberTeamPage.of(coalescingRepository.getSearchRepository(condition).searchSlice(condition, pageable))));
+    }
+
+    // fields=memberId,username 처럼 필요한 필드만 요청하면 해당 컬럼만 조회/직렬화한다.
+
+    @GetMapping(value = "/api/v1/members", params = "fields")
+    public MemberFieldRows searchMemberFieldsV1(MemberSearchCondition condition, @RequestParam String fields,
+                                                WebRequest webRequest) {
+        log.info("[GET] /api/v1/members?fields={}  =>  search Member v1, 필드 선택 조회", fields);
+        List<MemberField> memberFields = MemberField.parse(fields);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "v1", condition, memberFields))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("v1" + memberFields, version, condition, null,
+                () -> bulkheads.execute("v1", condition, null, () -> coalescingRepository.getSearchRepository(condition).searchFields(condition, memberFields)));
+    }
+
+    @GetMapping(value = {"/api/v2/members", "/api/v3/members"}, params = "fields")
+    public MemberFieldPage searchMemberFieldsPage(MemberSearchCondition condition, Pageable pageable,
+                                                  @RequestParam String fields, WebRequest webRequest) {
+        log.info("[GET] /api/v2|v3/members?fields={}  =>  search Member 필드 선택 조회 + 페이징", fields);
+        List<MemberField> memberFields = MemberField.parse(fields);
+        String version = dataVersion.current();
+        if (webRequest.checkNotModified(dataVersion.etag(version, "v3", condition, pageable, memberFields))) {
+            return null;
+        }
+        return coalescingRepository.coalesce("v3" + memberFields, version, condition, pageable,
+                () -> bulkheads.execute("v3", condition, pageable,
+                        () -> MemberFieldPage.of(memberFields, coalescingRepository.getSearchRepository(condition).searchFieldsPage(condition, memberFields, pageable))));
+    }
+
+    // ids=1,2,3 처럼 여러 회원을 한 번에 조회 (요청한 id 순서 유지, 없는 id 는 제외)
+    @GetMapping("/api/v1/members/by-ids")
+    public List<MemberTeamDto> findMembersByIds(@RequestParam List<Long> ids) {
+        log.info("[GET] /api/v1/members/by-ids  =>  find Members by ids, size={}", ids.size());
+        return memberJpaRepository.findAllByIds(ids).stream()
+                .map(this::toMemberTeamDto)
+                .collect(Collectors.toList());
+    }
+
+    // member_archive 로 옮겨진 회원을 같은 id 로 되돌린다. (보관된 회원이 아니면 restored = false)
+    @PostMapping("/api/v1/members/{memberId}/restore")
+    public Map<String, Object> restoreMember(@PathVariable Long memberId) {
+        log.info("[POST] /api/v1/members/{}/restore  =>  보관된 회원 복원", memberId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("memberId", memberId);
+        result.put("restored", memberArchiver.restore(memberId));
+        return result;
+    }
+
+    private MemberTeamDto toMemberTeamDto(Member member) {
+        Team team = member.getTeam();
+        return new MemberTeamDto(member.getId(), member.getUsername(), member.getAge(),
+                team != null ? team.getId() : null, team != null ? team.getName() : null);
     }
 }
@@ -0,0 +1,174 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.bulkhead.SearchBulkheads;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.MemberTeamPage;
+import com.example.querydsl.outbox.DataVersion;
+import com.example.querydsl.repository.CoalescingMemberSearchRepository;
+import com.example.querydsl.repository.MemberJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * MemberApiController 의 비동기 버전
+ * - 쿼리는 dbExecutor 에서 실행하고, 서블릿 컨테이너 스레드는 DeferredResult 를 반환하고 바로 반납한다.
+ * - 동기 endpoint 와 같은 ETag(304), single-flight, bulkhead 를 거친다. (key, bulkhead 도 같은 것을 공유한다)
+ *   데이터 버전 읽기와 304 판단도 dbExecutor 작업 안에서 한다.
+ * - dbExecutor 스레드 수는 커넥션 수와 같으므로 그 스레드에서 기다리지 않는다.
+ *   single-flight follower 는 leader 의 future 를 이어받고 바로 반환하며, bulkhead 는 대기 없이 자리가 없으면 429 로 거절한다.
+ * - 요청별 timeoutMs 가 지나면 503 을 응답하고 실행 중인 작업은 취소(interrupt)한다.
+ *   interrupt 로는 JDBC 문장이 멈추지 않으므로, 남은 시간을 트랜잭션 timeout 으로 걸어서 문장의 query timeout 으로도 적용한다.
+ *   (JPA 는 SharedEntityManager 가 query hint 로, querydsl-sql 은 QuerydslSqlConfig 의 listener 가 Statement 에 설정한다)
+ */
+@Slf4j
+@RestController
+public class MemberAsyncApiController {
+    private final MemberJpaRepository memberJpaRepository;
+    private final CoalescingMemberSearchRepository coalescingRepository;
+    private final DataVersion dataVersion;
+    private final SearchBulkheads bulkheads;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor dbExecutor;
+    private final long defaultTimeoutMillis;
+
+    public MemberAsyncApiController(MemberJpaRepository memberJpaRepository,
+                                    CoalescingMemberSearchRepository coalescingRepository,
+                                    DataVersion dataVersion,
+                                    SearchBulkheads bulkheads,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("dbExecutor") ThreadPoolTaskExecutor dbExecutor,
+                                    @Value("${db-executor.default-timeout-ms:3000}") long defaultTimeoutMillis) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.coalescingRepository = coalescingRepository;
+        this.dataVersion = dataVersion;
+        this.bulkheads = bulkheads;
+        this.transactionManager = transactionManager;
+        this.dbExecutor = dbExecutor;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    @GetMapping("/api/async/v1/members")
+    public DeferredResult<ResponseEntity<List<MemberTeamDto>>> searchAllMemberV1(MemberSearchCondition condition,
+                                                                                 @RequestParam(required = false) Long timeoutMs,
+                                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("[GET] /api/async/v1/members  =>  search Member v1 async, condition = {}", condition);
+        return submit(timeoutMs, ifNoneMatch, version -> dataVersion.etag(version, "v1", condition),
+                (version, deadline) -> coalescingRepository.coalesceAsync("v1", version, condition, null,
+                        () -> bulkheads.executeWithoutWaiting("v1", condition, null, () -> withTimeout(deadline, () -> condition.isIncludeArchived()
+                                ? coalescingRepository.getSearchRepository(condition).searchWhereParameter(condition)
+                                : memberJpaRepository.searchWhereParameter(condition)))));
+    }
+
+    @GetMapping("/api/async/v2/members")
+    public DeferredResult<ResponseEntity<MemberTeamPage>> searchAllMemberV2(MemberSearchCondition condition, Pageable pageable,
+                                                                            @RequestParam(required = false) Long timeoutMs,
+                                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("[GET] /api/async/v2/members  =>  search Member v2 async, condition = {}", condition);
+        return submit(timeoutMs, ifNoneMatch, version -> dataVersion.etag(version, "v2", condition, pageable),
+                (version, deadline) -> coalescingRepository.coalesceAsync("v2", version, condition, pageable,
+                        () -> bulkheads.executeWithoutWaiting("v2", condition, pageable, () -> withTimeout(deadline,
+                                () -> MemberTeamPage.of(coalescingRepository.getSearchRepository(condition).searchPaginationSimple(condition, pageable))))));
+    }
+
+    @GetMapping("/api/async/v3/members")
+    public DeferredResult<ResponseEntity<MemberTeamPage>> searchAllMemberV3(MemberSearchCondition condition, Pageable pageable,
+                                                                            @RequestParam(required = false) Long timeoutMs,
+                                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("[GET] /api/async/v3/members  =>  search Member v3 async, condition = {}", condition);
+        return submit(timeoutMs, ifNoneMatch, version -> dataVersion.etag(version, "v3", condition, pageable),
+                (version, deadline) -> coalescingRepository.coalesceAsync("v3", version, condition, pageable,
+                        () -> bulkheads.executeWithoutWaiting("v3", condition, pageable, () -> withTimeout(deadline,
+                                () -> MemberTeamPage.of(coalescingRepository.getSearchRepository(condition).searchPaginationCountQueryOptimization(condition, pageable))))));
+    }
+
+    // 버전 읽기, ETag 비교(304), 조회를 모두 dbExecutor 작업 안에서 한다. 서블릿 스레드는 DB 를 건드리지 않는다.
+    private <T> DeferredResult<ResponseEntity<T>> submit(Long timeoutMs, String ifNoneMatch,
+                                                         Function<String, String> etagOf, DeadlineQuery<T> query) {
+        long timeoutMillis = timeoutMs == null ? defaultTimeoutMillis : timeoutMs;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(timeoutMillis);
+
+        // 대기열이 가득 차면 TaskRejectedException → ApiExceptionAdvice 에서 503
+        ListenableFuture<CompletableFuture<ResponseEntity<T>>> future = dbExecutor.submitListenable(() -> {
+            String version = dataVersion.current();
+            String etag = quote(etagOf.apply(version));
+            if (matches(ifNoneMatch, etag)) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<T>build());
+            }
+            // follower 는 leader 의 결과 future 를 받고 바로 반환한다. (db- 스레드에서 기다리지 않는다)
+            return query.execute(version, deadlineNanos).thenApply(body -> ResponseEntity.ok().eTag(etag).body(body));
+        });
+        future.addCallback(response -> response.whenComplete((value, e) -> {
+            if (e == null) {
+                result.setResult(value);
+            } else {
+                result.setErrorResult(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        }), result::setErrorResult);
+
+        result.onTimeout(() -> {
+            future.cancel(true);
+            result.setErrorResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                                .body(Map.of("message", "조회 시간 초과")));
+        });
+        return result;
+    }
+
+    // If-None-Match 는 여러 값(콤마 구분), weak(W/) 표기, * 를 허용한다. (ServletWebRequest.checkNotModified 와 같은 비교)
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    // 요청의 남은 시간을 트랜잭션 timeout(초 단위, 올림)으로 걸고 실행한다. 문장마다 남은 시간이 query timeout 으로 설정된다.
+    private <T> T withTimeout(long deadlineNanos, Supplier<T> query) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setTimeout((int) Math.max(1, (remainingMillis + 999) / 1000));
+        return transactionTemplate.execute(status -> query.get());
+    }
+
+    @FunctionalInterface
+    private interface DeadlineQuery<T> {
+        CompletableFuture<T> execute(String version, long deadlineNanos);
+    }
+}
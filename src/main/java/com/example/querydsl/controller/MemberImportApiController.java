@@ -0,0 +1,37 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.ingest.MemberCsvImporter;
+import com.example.querydsl.ingest.MemberImportResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 회원 대량 import API
+ * - 본문(text/csv)을 메모리에 올리지 않고 InputStream 그대로 importer 에 넘긴다.
+ * - DB 오류로 중단되어도 500 대신 커밋된 chunk 까지의 결과(status = FAILED, committedLine)를 응답한다.
+ *
+ * <pre>
+ * curl -X POST -H 'Content-Type: text/csv' --data-binary @members.csv 'localhost:3032/api/v1/members/import?source=members.csv'
+ * </pre>
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class MemberImportApiController {
+    private final MemberCsvImporter csvImporter;
+
+    @PostMapping(value = "/api/v1/members/import", consumes = {"text/csv", "text/plain"})
+    public MemberImportResult importMembers(InputStream body,
+                                            @RequestParam(defaultValue = "api") String source) throws IOException {
+        log.info("[POST] /api/v1/members/import  =>  회원 CSV import, source = {}", source);
+        return csvImporter.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8), source);
+    }
+}
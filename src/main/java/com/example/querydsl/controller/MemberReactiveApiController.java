@@ -0,0 +1,35 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * R2DBC 조회 경로를 Flux 로 내보내는 endpoint
+ * - 스프링 MVC 가 Flux 를 구독하고 한 행씩 NDJSON 으로 쓴다. 응답을 쓰는 동안 요청 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class MemberReactiveApiController {
+    private final MemberReactiveRepository memberReactiveRepository;
+
+    @GetMapping(value = "/api/reactive/v1/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> searchAllMemberV1(MemberSearchCondition condition) {
+        log.info("[GET] /api/reactive/v1/members  =>  search Member v1, R2DBC 동적쿼리, condition = {}", condition);
+        return memberReactiveRepository.searchWhereParameter(condition);
+    }
+
+    @GetMapping(value = "/api/reactive/v2/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> searchAllMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        log.info("[GET] /api/reactive/v2/members  =>  search Member v2, R2DBC 동적쿼리 + 페이징, condition = {}", condition);
+        return memberReactiveRepository.searchPagination(condition, pageable);
+    }
+}
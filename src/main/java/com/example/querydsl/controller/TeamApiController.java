@@ -0,0 +1,90 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.team.TeamMemberCountReport;
+import com.example.querydsl.team.TeamMemberCounter;
+import com.example.querydsl.team.TeamMemberMoveService;
+import com.example.querydsl.team.TeamNameConsistencyChecker;
+import com.example.querydsl.team.TeamNameConsistencyReport;
+import com.example.querydsl.team.TeamRenameService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 팀 API
+ * - 팀 이름 변경 시 소속 회원의 teamName(역정규화 컬럼)까지 chunk 단위로 전파한다.
+ * - 팀 회원 수는 count(member) 대신 team.member_count 로 응답한다. (회원 변경과 같은 트랜잭션에서 증감되므로 커밋된 값 그대로)
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class TeamApiController {
+    private final TeamRenameService teamRenameService;
+    private final TeamNameConsistencyChecker consistencyChecker;
+    private final TeamMemberCounter teamMemberCounter;
+    private final TeamMemberMoveService teamMemberMoveService;
+
+    @PostMapping("/api/v1/teams/{teamId}/rename")
+    public Map<String, Object> renameTeam(@PathVariable Long teamId, @RequestParam String name) {
+        log.info("[POST] /api/v1/teams/{}/rename  =>  팀 이름 변경, name = {}", teamId, name);
+        long updatedMembers = teamRenameService.rename(teamId, name);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("teamId", teamId);
+        result.put("name", name);
+        result.put("updatedMembers", updatedMembers);
+        return result;
+    }
+
+    @GetMapping("/api/v1/teams/name-consistency")
+    public TeamNameConsistencyReport checkTeamNameConsistency() {
+        log.info("[GET] /api/v1/teams/name-consistency  =>  member.teamName 불일치 검사");
+        return consistencyChecker.check();
+    }
+
+    @PostMapping("/api/v1/teams/name-consistency/repair")
+    public TeamNameConsistencyReport repairTeamNameConsistency() {
+        log.info("[POST] /api/v1/teams/name-consistency/repair  =>  member.teamName 불일치 복구");
+        return consistencyChecker.repair();
+    }
+
+    @GetMapping("/api/v1/teams/{teamId}/member-count")
+    public Map<String, Object> getMemberCount(@PathVariable Long teamId) {
+        log.info("[GET] /api/v1/teams/{}/member-count  =>  팀 회원 수", teamId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("teamId", teamId);
+        result.put("memberCount", teamMemberCounter.currentCount(teamId));
+        return result;
+    }
+
+    @PostMapping("/api/v1/teams/{teamId}/members/move")
+    public Map<String, Object> moveMembers(@PathVariable Long teamId, @RequestParam Long toTeamId) {
+        log.info("[POST] /api/v1/teams/{}/members/move  =>  팀 회원 벌크 이동, toTeamId = {}", teamId, toTeamId);
+        long movedMembers = teamMemberMoveService.moveAll(teamId, toTeamId);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fromTeamId", teamId);
+        result.put("toTeamId", toTeamId);
+        result.put("movedMembers", movedMembers);
+        return result;
+    }
+
+    @GetMapping("/api/v1/teams/member-count/consistency")
+    public TeamMemberCountReport checkMemberCount() {
+        log.info("[GET] /api/v1/teams/member-count/consistency  =>  team.member_count 불일치 검사");
+        return teamMemberCounter.check();
+    }
+
+    @PostMapping("/api/v1/teams/member-count/reconcile")
+    public TeamMemberCountReport reconcileMemberCount() {
+        log.info("[POST] /api/v1/teams/member-count/reconcile  =>  team.member_count 보정");
+        return teamMemberCounter.reconcile();
+    }
+}
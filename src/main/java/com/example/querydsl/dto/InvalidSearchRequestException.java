@@ -0,0 +1,12 @@
+package com.example.querydsl.dto;
+
+/**
+ * 클라이언트가 보낸 검색 요청(fields, sort, includeArchived, topN, ids 등)이 잘못된 경우
+ * - ApiExceptionAdvice 에서 400 으로 응답한다. (내부 오류의 IllegalArgumentException 은 400 으로 바꾸지 않는다)
+ */
+public class InvalidSearchRequestException extends RuntimeException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 회원 나이 집계 (건수, 합계, 최소, 최대), 파티션별 부분 집계를 combine 으로 합칠 수 있다.
+ */
+@Getter
+@ToString
+public class MemberAgeSummary {
+    private static final MemberAgeSummary EMPTY = new MemberAgeSummary(0, 0, null, null);
+
+    private final long count;
+    private final long sum;
+    private final Integer min;
+    private final Integer max;
+
+    public MemberAgeSummary(long count, long sum, Integer min, Integer max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static MemberAgeSummary empty() {
+        return EMPTY;
+    }
+
+    public Double getAverage() {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    public MemberAgeSummary combine(MemberAgeSummary other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new MemberAgeSummary(count + other.count,
+                                    sum + other.sum,
+                                    Math.min(min, other.min),
+                                    Math.max(max, other.max));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.querydsl.core.types.Expression;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 클라이언트가 fields= 로 고를 수 있는 MemberTeamDto 필드와 그에 해당하는 Querydsl 경로
+ * - teamId 는 member 의 FK(member.team.id)로 읽으므로 team 조인이 필요 없다.
+ * - teamName 은 역정규화(member.search.denormalized-team-name) 사용 시 member.teamName 으로 읽고 team 을 조인하지 않는다.
+ */
+public enum MemberField {
+    MEMBER_ID("memberId", member.id, false),
+    USERNAME("username", member.username, false),
+    AGE("age", member.age, false),
+    TEAM_ID("teamId", member.team.id, false),
+    TEAM_NAME("teamName", team.name, member.teamName, true);
+
+    @Getter
+    private final String fieldName;
+    @Getter
+    private final SerializableString serializedName;
+    private final Expression<?> path;
+    private final Expression<?> denormalizedPath;
+    private final boolean teamJoinRequired;
+
+    MemberField(String fieldName, Expression<?> path, boolean teamJoinRequired) {
+        this(fieldName, path, path, teamJoinRequired);
+    }
+
+    MemberField(String fieldName, Expression<?> path, Expression<?> denormalizedPath, boolean teamJoinRequired) {
+        this.fieldName = fieldName;
+        this.serializedName = new SerializedString(fieldName);
+        this.path = path;
+        this.denormalizedPath = denormalizedPath;
+        this.teamJoinRequired = teamJoinRequired;
+    }
+
+    public Expression<?> getPath(boolean denormalizedTeamName) {
+        return denormalizedTeamName ? denormalizedPath : path;
+    }
+
+    public boolean isTeamJoinRequired(boolean denormalizedTeamName) {
+        return teamJoinRequired && !denormalizedTeamName;
+    }
+
+    /**
+     * "memberId,username" → [MEMBER_ID, USERNAME] (요청 순서 유지, 중복 제거)
+     */
+    public static List<MemberField> parse(String fields) {
+        List<MemberField> result = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            MemberField field = of(name.trim());
+            if (!result.contains(field)) {
+                result.add(field);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new InvalidSearchRequestException("fields 가 비어 있습니다.");
+        }
+        return result;
+    }
+
+    private static MemberField of(String fieldName) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(fieldName))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSearchRequestException("지원하지 않는 필드 : " + fieldName));
+    }
+}
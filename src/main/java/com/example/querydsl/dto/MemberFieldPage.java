@@ -0,0 +1,35 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.querydsl.core.Tuple;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * fields= 조회의 페이지 envelope (MemberTeamPage 와 같은 모양)
+ */
+@Getter
+@JsonPropertyOrder({"content", "page", "size", "totalElements", "totalPages", "hasNext"})
+public class MemberFieldPage {
+    private final MemberFieldRows content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+    private final boolean hasNext;
+
+    private MemberFieldPage(MemberFieldRows content, Page<Tuple> page) {
+        this.content = content;
+        this.page = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+        this.hasNext = page.hasNext();
+    }
+
+    public static MemberFieldPage of(List<MemberField> fields, Page<Tuple> page) {
+        return new MemberFieldPage(new MemberFieldRows(fields, page.getContent()), page);
+    }
+}
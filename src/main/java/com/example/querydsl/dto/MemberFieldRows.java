@@ -0,0 +1,20 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.querydsl.core.Tuple;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * fields= 로 고른 컬럼만 조회한 결과
+ * - 행마다 Map 을 만들지 않고 Tuple 그대로 두었다가 MemberFieldRowsSerializer 가 고른 필드만 기록한다.
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonSerialize(using = MemberFieldRowsSerializer.class)
+public class MemberFieldRows {
+    private final List<MemberField> fields;
+    private final List<Tuple> rows;
+}
@@ -0,0 +1,37 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.querydsl.core.Tuple;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * [{"memberId":1,"username":"member1"}, ...] 형태로 고른 필드만 기록한다.
+ */
+public class MemberFieldRowsSerializer extends StdSerializer<MemberFieldRows> {
+
+    public MemberFieldRowsSerializer() {
+        super(MemberFieldRows.class);
+    }
+
+    @Override
+    public void serialize(MemberFieldRows value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        List<MemberField> fields = value.getFields();
+        List<Tuple> rows = value.getRows();
+
+        gen.writeStartArray(rows, rows.size());
+        for (Tuple row : rows) {
+            gen.writeStartObject();
+            // 행은 fields 순서대로 조회했으므로 위치로 읽는다. (역정규화 여부에 따라 조회 경로가 달라도 같다)
+            for (int i = 0; i < fields.size(); i++) {
+                gen.writeFieldName(fields.get(i).getSerializedName());
+                provider.defaultSerializeValue(row.get(i, Object.class), gen);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
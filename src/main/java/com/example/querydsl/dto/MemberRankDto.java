@@ -0,0 +1,31 @@
+package com.example.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/**
+ * 팀 안에서의 나이 순위 (나이 많은 순)
+ * - rowNumber : 팀 안의 순번 (동점이어도 MEMBER_ID 순으로 1, 2, 3 ...)
+ * - rank : 동점이면 같은 순위 (1, 1, 3 ...)
+ */
+@Data
+public class MemberRankDto {
+    private Long memberId;
+    private String username;
+    private int age;
+    private Long teamId;
+    private String teamName;
+    private long rowNumber;
+    private long rank;
+
+    @QueryProjection
+    public MemberRankDto(Long memberId, String username, int age, Long teamId, String teamName, long rowNumber, long rank) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.rowNumber = rowNumber;
+        this.rank = rank;
+    }
+}
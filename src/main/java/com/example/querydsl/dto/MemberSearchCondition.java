@@ -10,4 +10,6 @@ public class MemberSearchCondition {
     private String teamName;
     private Integer ageGoe; // >=
     private Integer ageLoe; // <=
+    // true 이면 member_archive(보관된 비활성 회원)까지 union all 로 함께 검색한다. (querydsl-sql 구현에서만 지원)
+    private boolean includeArchived;
 }
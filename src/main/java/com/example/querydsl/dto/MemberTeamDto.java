@@ -10,13 +10,20 @@ public class MemberTeamDto {
     private int age;
     private Long teamId;
     private String teamName;
+    private Long teamMemberCount;   // team.member_count, 조회하지 않은 경우 null
 
     @QueryProjection
     public MemberTeamDto(Long memberId, String username, int age, Long teamId, String teamName) {
+        this(memberId, username, age, teamId, teamName, null);
+    }
+
+    @QueryProjection
+    public MemberTeamDto(Long memberId, String username, int age, Long teamId, String teamName, Long teamMemberCount) {
         this.memberId = memberId;
         this.username = username;
         this.age = age;
         this.teamId = teamId;
         this.teamName = teamName;
+        this.teamMemberCount = teamMemberCount;
     }
 }
@@ -0,0 +1,51 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * PageImpl 대신 응답으로 내보내는 간결한 페이지 envelope
+ * - pageable, sort 등 부가 객체 없이 content 와 페이지 정보만 MemberTeamPageSerializer 로 직접 기록한다.
+ * - Slice 로 만들면 전체 건수를 모르므로 totalElements, totalPages 는 null (응답에서 생략)
+ */
+@Getter
+@JsonSerialize(using = MemberTeamPageSerializer.class)
+public class MemberTeamPage {
+    private final List<MemberTeamDto> content;
+    private final int page;
+    private final int size;
+    private final Long totalElements;
+    private final Integer totalPages;
+    private final boolean hasNext;
+
+    private MemberTeamPage(List<MemberTeamDto> content, int page, int size, Long totalElements, Integer totalPages, boolean hasNext) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+    }
+
+    public static MemberTeamPage of(Page<MemberTeamDto> page) {
+        return new MemberTeamPage(page.getContent(),
+                                    page.getNumber(),
+                                    page.getSize(),
+                                    page.getTotalElements(),
+                                    page.getTotalPages(),
+                                    page.hasNext());
+    }
+
+    public static MemberTeamPage of(Slice<MemberTeamDto> slice) {
+        return new MemberTeamPage(slice.getContent(),
+                                    slice.getNumber(),
+                                    slice.getSize(),
+                                    null,
+                                    null,
+                                    slice.hasNext());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * MemberTeamPage 를 리플렉션 없이 JsonGenerator 로 직접 기록하는 serializer
+ * - 필드명은 미리 인코딩된 SerializedString 을 사용하고, 배열은 크기를 알려주고 시작한다.
+ *
+ * {"content":[{"memberId":1,"username":"member1","age":10,"teamId":1,"teamName":"teamA","teamMemberCount":5}],
+ *  "page":0,"size":20,"totalElements":100,"totalPages":5,"hasNext":true}
+ * Slice 응답은 totalElements, totalPages 를 생략한다. teamMemberCount 는 조회한 경우에만 기록한다.
+ */
+public class MemberTeamPageSerializer extends StdSerializer<MemberTeamPage> {
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString MEMBER_ID = new SerializedString("memberId");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final SerializableString TEAM_ID = new SerializedString("teamId");
+    private static final SerializableString TEAM_NAME = new SerializedString("teamName");
+    private static final SerializableString TEAM_MEMBER_COUNT = new SerializedString("teamMemberCount");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+
+    public MemberTeamPageSerializer() {
+        super(MemberTeamPage.class);
+    }
+
+    @Override
+    public void serialize(MemberTeamPage page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+
+        List<MemberTeamDto> content = page.getContent();
+        gen.writeFieldName(CONTENT);
+        gen.writeStartArray(content, content.size());
+        for (MemberTeamDto dto : content) {
+            writeMemberTeam(dto, gen);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(page.getPage());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.getSize());
+        if (page.getTotalElements() != null) {
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(page.getTotalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+        }
+        gen.writeFieldName(HAS_NEXT);
+        gen.writeBoolean(page.isHasNext());
+
+        gen.writeEndObject();
+    }
+
+    private void writeMemberTeam(MemberTeamDto dto, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(dto);
+        gen.writeFieldName(MEMBER_ID);
+        writeLong(dto.getMemberId(), gen);
+        gen.writeFieldName(USERNAME);
+        gen.writeString(dto.getUsername());
+        gen.writeFieldName(AGE);
+        gen.writeNumber(dto.getAge());
+        gen.writeFieldName(TEAM_ID);
+        writeLong(dto.getTeamId(), gen);
+        gen.writeFieldName(TEAM_NAME);
+        gen.writeString(dto.getTeamName());
+        if (dto.getTeamMemberCount() != null) {
+            gen.writeFieldName(TEAM_MEMBER_COUNT);
+            gen.writeNumber(dto.getTeamMemberCount());
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeLong(Long value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.querydsl.entity;
 
+import com.example.querydsl.outbox.OutboxEntityListener;
+import com.example.querydsl.team.TeamMemberCountListener;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @Entity
+@EntityListeners({OutboxEntityListener.class, TeamMemberCountListener.class})
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_team_age", columnList = "TEAM_ID, age"),  // 팀별 나이 순위 (window function)
+        @Index(name = "idx_member_team_name", columnList = "team_name"),    // team 조인 없는 팀 이름 검색
+        @Index(name = "idx_member_last_active", columnList = "last_active_at")  // 보관(archive) 대상 조회
+})
 @ToString(of = {"id", "username", "age"})
 public class Member {
     @Id
@@ -21,6 +33,19 @@ public class Member {
     @JoinColumn(name = "TEAM_ID")
     private Team team;
 
+    // team.name 역정규화 : 팀 이름 검색을 member 한 테이블에서 처리한다.
+    // changeTeam 에서 함께 바꾸고, 팀 이름 변경은 TeamRenameService 가 벌크 update 로 전파한다.
+    @Column(name = "team_name")
+    private String teamName;
+
+    // 마지막 활동 시각, member.archive.inactive-after-days 보다 오래되면 MemberArchiver 가 member_archive 로 옮긴다.
+    @Column(name = "last_active_at")
+    private LocalDateTime lastActiveAt;
+
+    // team.member_count 에 반영된 팀 (로딩/저장 시점의 TEAM_ID), TeamMemberCountListener 가 팀 변경을 감지할 때 사용한다.
+    @Transient
+    private Long countedTeamId;
+
     public Member(String username) {
         this.username = username;
     }
@@ -38,9 +63,49 @@ public class Member {
         }
     }
 
+    @PrePersist
+    void prePersist() {
+        if (lastActiveAt == null) {
+            lastActiveAt = LocalDateTime.now();
+        }
+    }
+
+    // 회원 정보가 바뀌면(dirty checking update) 활동으로 본다. 벌크 update 는 거치지 않는다.
+    @PreUpdate
+    void preUpdate() {
+        touch();
+    }
+
+    // 회원이 활동했을 때 호출, 보관 대상에서 다시 멀어진다.
+    public void touch() {
+        this.lastActiveAt = LocalDateTime.now();
+    }
+
     // 연관관계 메서드
+    // 연관관계의 주인(member.team)만 바꾸고, team.members 는 이미 로딩된 경우에만 메모리 상태를 맞춘다.
+    // (지연 로딩 컬렉션에 add 하면 팀 회원 전체를 읽으므로 대형 팀 배정이 팀 크기에 비례해서 느려진다)
     public void changeTeam(Team team) {
+        Team oldTeam = this.team;
+        this.team = team;
+        this.teamName = team.getName();
+        if (oldTeam != null && oldTeam != team && isMembersLoaded(oldTeam)) {
+            oldTeam.getMembers().remove(this);
+        }
+        if (isMembersLoaded(team)) {
+            team.getMembers().add(this);
+        }
+    }
+
+    // 팀 엔티티와 members 컬렉션이 모두 로딩되어 있는지, 확인하는 동안 아무것도 로딩하지 않는다. (새 팀의 ArrayList 는 로딩된 것으로 본다)
+    private static boolean isMembersLoaded(Team team) {
+        return Hibernate.isInitialized(team)
+                && Hibernate.isPropertyInitialized(team, "members")
+                && Hibernate.isInitialized(team.getMembers());
+    }
+
+    // 연관관계 편의 메서드 없이 FK 만 바꿀 때도 역정규화 컬럼을 맞춘다.
+    public void setTeam(Team team) {
         this.team = team;
-        team.getMembers().add(this);
+        this.teamName = team != null ? team.getName() : null;
     }
 }
@@ -0,0 +1,42 @@
+package com.example.querydsl.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보관된(비활성) 회원, MemberArchiver 가 member 에서 옮겨 온다.
+ * - MEMBER_ID 는 member 의 값을 그대로 쓰므로 생성 전략이 없다.
+ * - TEAM_ID 는 FK 없이 값만 보관하고, 팀 이름은 검색 시 team 을 조인해서 현재 이름으로 읽는다.
+ * - insert 는 MemberArchiver 의 insert ... select 로만 한다. (엔티티는 스키마 생성과 조회용)
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "member_archive", indexes = {
+        @Index(name = "idx_member_archive_username", columnList = "username"),
+        @Index(name = "idx_member_archive_age", columnList = "age"),
+        @Index(name = "idx_member_archive_team_age", columnList = "TEAM_ID, age")
+})
+@ToString(of = {"id", "username", "age"})
+public class MemberArchive {
+    @Id
+    @Column(name = "MEMBER_ID")
+    private Long id;
+
+    private String username;
+    private int age;
+
+    @Column(name = "TEAM_ID")
+    private Long teamId;
+
+    @Column(name = "team_name")
+    private String teamName;
+
+    @Column(name = "last_active_at")
+    private LocalDateTime lastActiveAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
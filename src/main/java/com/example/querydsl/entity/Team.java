@@ -1,5 +1,6 @@
 package com.example.querydsl.entity;
 
+import com.example.querydsl.outbox.OutboxEntityListener;
 import lombok.*;
 
 import javax.persistence.*;
@@ -9,6 +10,8 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter @Setter
 @Entity
+@EntityListeners(OutboxEntityListener.class)
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
 @ToString(of = {"id", "name"})
 public class Team {
     @Id @GeneratedValue
@@ -17,6 +20,11 @@ public class Team {
 
     private String name;
 
+    // 소속 회원 수 (member 테이블 기준, 보관된 회원 제외), TeamMemberCounter 가 DB 에서 증감하므로 엔티티로는 갱신하지 않는다.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "member_count", nullable = false, updatable = false)
+    private long memberCount;
+
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
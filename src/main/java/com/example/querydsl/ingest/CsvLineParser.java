@@ -0,0 +1,46 @@
+package com.example.querydsl.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 한 줄을 컬럼으로 나눈다. (RFC 4180 의 따옴표 규칙, 단 필드 안의 줄바꿈은 지원하지 않는다)
+ * - "a,b" 처럼 따옴표로 감싼 필드 안의 콤마는 구분자가 아니다.
+ * - 따옴표 안의 "" 는 " 하나로 바꾼다.
+ */
+class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> split(String line) {
+        List<String> columns = new ArrayList<>(4);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    column.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표");
+        }
+        columns.add(column.toString().trim());
+        return columns;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.querydsl.ingest;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.outbox.ChangeType;
+import com.example.querydsl.outbox.OutboxRecorder;
+import com.example.querydsl.team.TeamMemberCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원 CSV(username,age,teamName) 를 스트리밍으로 읽어서 대량 insert 한다.
+ * - 요청 본문을 한 줄씩 읽고, commitInterval 행 단위로만 메모리에 모아서 커밋한다.
+ * - 영속성 컨텍스트/엔티티 리스너를 거치지 않도록 StatelessSession 의 커넥션으로 JDBC batch insert 한다.
+ *   (MEMBER_ID 는 insert 문 안에서 시퀀스로 채번해서 행마다 시퀀스 조회 왕복이 생기지 않게 한다)
+ * - 팀 이름 → TEAM_ID 는 import 시작 시 한 번 읽어서 로컬 캐시로 쓰고, 없는 팀만 새로 만든다.
+ * - 형식이 잘못된 행은 건너뛰고 줄 번호와 함께 결과에 남긴다.
+ * - DB 오류는 현재 커밋 단위를 롤백하고 중단한다. 예외 대신 status = FAILED 인 결과(커밋된 chunk 까지)를 반환한다.
+ * - 엔티티 리스너를 거치지 않으므로 커밋 단위마다 같은 트랜잭션에서 outbox 에 BULK_CREATED 이벤트를 남긴다.
+ *   (중단되더라도 커밋된 chunk 의 이벤트는 빠지지 않는다, DataVersion 증가)
+ *   team.member_count 도 커밋 단위마다 같은 트랜잭션에서 팀별 insert 수만큼 TeamMemberCounter 로 더한다.
+ */
+@Slf4j
+@Component
+public class MemberCsvImporter {
+    private static final String HEADER = "username,age,teamname";
+    private static final String AGGREGATE_TYPE = "Member";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final OutboxRecorder outboxRecorder;
+    private final TeamMemberCounter teamMemberCounter;
+    private final int batchSize;
+    private final int commitInterval;
+    private final int maxErrors;
+    private final String insertSql;
+
+    public MemberCsvImporter(EntityManagerFactory emf,
+                             OutboxRecorder outboxRecorder,
+                             TeamMemberCounter teamMemberCounter,
+                             @Value("${member-import.batch-size:1000}") int batchSize,
+                             @Value("${member-import.commit-interval:20000}") int commitInterval,
+                             @Value("${member-import.max-errors:100}") int maxErrors) {
+        if (batchSize <= 0 || commitInterval <= 0) {
+            throw new IllegalArgumentException("batch-size, commit-interval 은 1 이상이어야 합니다.");
+        }
+        this.sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        this.outboxRecorder = outboxRecorder;
+        this.teamMemberCounter = teamMemberCounter;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        this.maxErrors = maxErrors;
+        this.insertSql = "insert into member (member_id, username, age, team_id, team_name, last_active_at) values ("
+                            + nextMemberIdSql() + ", ?, ?, ?, ?, current_timestamp)";
+    }
+
+    public MemberImportResult importCsv(Reader csv, String source) throws IOException {
+        long startNanos = System.nanoTime();
+        MemberImportResult result = new MemberImportResult(maxErrors);
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             BufferedReader reader = new BufferedReader(csv, 64 * 1024)) {
+            Map<String, Long> teamIds = loadTeamIds(session);
+            List<MemberRow> chunk = new ArrayList<>(Math.min(commitInterval, 1 << 16));
+
+            long lineNumber = 0;
+            boolean written = true;
+            String line;
+            while (written && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && isHeader(line)) {
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.rowProcessed();
+                MemberRow row = parse(line, lineNumber, result);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == commitInterval) {
+                    written = writeChunk(session, chunk, teamIds, result, source);
+                    chunk.clear();
+                    if (written) {
+                        result.committedThrough(lineNumber);
+                    }
+                    logProgress(result, startNanos);
+                }
+            }
+            if (written && !chunk.isEmpty()) {
+                written = writeChunk(session, chunk, teamIds, result, source);
+            }
+            if (written) {
+                result.committedThrough(lineNumber);
+            }
+        } finally {
+            result.finish((System.nanoTime() - startNanos) / 1_000_000);
+        }
+        log.info("회원 import 종료 : source = {}, {}, rows/s = {}", source, result, result.getRowsPerSecond());
+        return result;
+    }
+
+    private Map<String, Long> loadTeamIds(StatelessSession session) {
+        Map<String, Long> teamIds = new HashMap<>();
+        List<Object[]> rows = session.createQuery("select t.id, t.name from Team t order by t.id", Object[].class)
+                                        .list();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                teamIds.putIfAbsent((String) row[1], (Long) row[0]);    // 같은 이름이 여러 개면 먼저 만든 팀
+            }
+        }
+        return teamIds;
+    }
+
+    private MemberRow parse(String line, long lineNumber, MemberImportResult result) {
+        try {
+            List<String> columns = CsvLineParser.split(line);
+            if (columns.size() < 2 || columns.size() > 3) {
+                throw new IllegalArgumentException("컬럼 수가 잘못되었습니다. (username,age[,teamName]) : " + columns.size());
+            }
+            String username = columns.get(0);
+            if (username.isEmpty()) {
+                throw new IllegalArgumentException("username 이 비어 있습니다.");
+            }
+            int age = parseAge(columns.get(1));
+            String teamName = columns.size() == 3 && !columns.get(2).isEmpty() ? columns.get(2) : null;
+            return new MemberRow(username, age, teamName);
+        } catch (IllegalArgumentException e) {
+            result.rowFailed(lineNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private int parseAge(String value) {
+        int age;
+        try {
+            age = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age 가 숫자가 아닙니다 : " + value);
+        }
+        if (age < 0) {
+            throw new IllegalArgumentException("age 는 0 이상이어야 합니다 : " + age);
+        }
+        return age;
+    }
+
+    // 커밋 단위 하나를 insert + outbox 기록 + 팀 회원 수 증가 후 커밋한다. DB 오류면 롤백하고 결과에 실패를 남긴 뒤 false
+    private boolean writeChunk(StatelessSession session, List<MemberRow> chunk, Map<String, Long> teamIds,
+                               MemberImportResult result, String source) {
+        List<String> createdTeams = new ArrayList<>();
+        Long[] rowTeamIds = new Long[chunk.size()];
+        Transaction tx = session.beginTransaction();
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                String teamName = chunk.get(i).teamName;
+                if (teamName != null) {
+                    rowTeamIds[i] = teamIds.computeIfAbsent(teamName, name -> {
+                        Team team = new Team(name);
+                        session.insert(team);
+                        createdTeams.add(name);
+                        return team.getId();
+                    });
+                }
+            }
+            Connection connection = ((SharedSessionContractImplementor) session).connection();
+            insertMembers(connection, chunk, rowTeamIds);
+            recordChunk(connection, chunk.size(), createdTeams, result.getCommittedChunks() + 1, source);
+            teamMemberCounter.add(connection, countMembers(rowTeamIds));
+            tx.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (tx.getStatus().canRollback()) {
+                tx.rollback();
+            }
+            createdTeams.forEach(teamIds::remove);
+            log.error("회원 import 중단 : source = {}, 커밋된 행 수 = {}, 커밋된 줄 = {}",
+                        source, result.getImportedRows(), result.getCommittedLine(), e);
+            result.failed("DB 오류로 중단 : " + e.getMessage());
+            return false;
+        }
+        result.chunkCommitted(chunk.size());
+        createdTeams.forEach(name -> result.teamCreated());
+        return true;
+    }
+
+    private void recordChunk(Connection connection, int affected, List<String> createdTeams, int chunkNumber,
+                             String source) throws SQLException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("affected", affected);
+        payload.put("createdTeams", createdTeams);
+        payload.put("chunk", chunkNumber);
+        payload.put("source", source);
+        outboxRecorder.record(connection, AGGREGATE_TYPE, null, ChangeType.BULK_CREATED, payload);
+    }
+
+    // chunk 의 팀별 회원 수 증가
+    private static Map<Long, Long> countMembers(Long[] rowTeamIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Long teamId : rowTeamIds) {
+            if (teamId != null) {
+                counts.merge(teamId, 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private void insertMembers(Connection connection, List<MemberRow> chunk, Long[] rowTeamIds) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(insertSql)) {
+            int pending = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                MemberRow row = chunk.get(i);
+                ps.setString(1, row.username);
+                ps.setInt(2, row.age);
+                if (rowTeamIds[i] == null) {
+                    ps.setNull(3, Types.BIGINT);
+                } else {
+                    ps.setLong(3, rowTeamIds[i]);
+                }
+                ps.setString(4, row.teamName);     // team.name 역정규화 컬럼
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private void logProgress(MemberImportResult result, long startNanos) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("회원 import 진행 중 : processed = {}, imported = {}, failed = {}, rows/s = {}",
+                    result.getProcessedRows(), result.getImportedRows(), result.getFailedRows(),
+                    result.getImportedRows() * 1000 / elapsedMillis);
+    }
+
+    private boolean isHeader(String line) {
+        String normalized = line.startsWith("\uFEFF") ? line.substring(1) : line;    // UTF-8 BOM
+        return normalized.replace(" ", "").equalsIgnoreCase(HEADER);
+    }
+
+    // Member 의 식별자 생성기(시퀀스)를 insert 문 안에서 호출하는 SQL (H2 : next value for hibernate_sequence)
+    private String nextMemberIdSql() {
+        IdentifierGenerator generator = sessionFactory.getMetamodel().entityPersister(Member.class).getIdentifierGenerator();
+        if (!(generator instanceof SequenceStyleGenerator)
+                || !((SequenceStyleGenerator) generator).getDatabaseStructure().isPhysicalSequence()
+                || ((SequenceStyleGenerator) generator).getOptimizer().getIncrementSize() != 1) {
+            // pooled optimizer 를 쓰면 하이버네이트가 미리 할당해둔 id 와 겹칠 수 있다.
+            throw new IllegalStateException("Member 식별자가 increment 1 시퀀스가 아니라서 insert 문 안에서 채번할 수 없습니다 : " + generator);
+        }
+        String sequenceName = ((SequenceStyleGenerator) generator).getDatabaseStructure().getName();
+        return sessionFactory.getJdbcServices().getDialect().getSelectSequenceNextValString(sequenceName);
+    }
+
+    private static class MemberRow {
+        private final String username;
+        private final int age;
+        private final String teamName;
+
+        private MemberRow(String username, int age, String teamName) {
+            this.username = username;
+            this.age = age;
+            this.teamName = teamName;
+        }
+    }
+}
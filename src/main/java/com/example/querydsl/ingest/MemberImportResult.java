@@ -0,0 +1,89 @@
+package com.example.querydsl.ingest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 회원 CSV import 결과
+ * - errors 는 최대 maxErrors 개까지만 담고, 전체 오류 건수는 failedRows 로 확인한다.
+ * - DB 오류로 중단되면 status = FAILED 이고, 그 전에 커밋된 chunk 는 반영된 상태로 남는다.
+ *   committedLine 까지의 줄은 반영(또는 행 오류로 거절)이 확정되었으므로 다시 import 할 때는 그 다음 줄부터 보낸다.
+ */
+@Getter
+@ToString(exclude = "errors")
+public class MemberImportResult {
+    private Status status = Status.COMPLETED;
+    private String failureMessage;
+    private int committedChunks;
+    private long committedLine;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private int createdTeams;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final int maxErrors;
+
+    MemberImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? importedRows : importedRows * 1000 / elapsedMillis;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    void rowProcessed() {
+        processedRows++;
+    }
+
+    void chunkCommitted(int rows) {
+        committedChunks++;
+        importedRows += rows;
+    }
+
+    void committedThrough(long line) {
+        committedLine = line;
+    }
+
+    void teamCreated() {
+        createdTeams++;
+    }
+
+    void rowFailed(long line, String message) {
+        failedRows++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    void failed(String message) {
+        status = Status.FAILED;
+        failureMessage = message;
+    }
+
+    void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public enum Status {
+        COMPLETED, FAILED
+    }
+
+    @Value
+    public static class RowError {
+        long line;
+        String message;
+    }
+}
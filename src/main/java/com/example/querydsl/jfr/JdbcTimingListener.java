@@ -0,0 +1,55 @@
+package com.example.querydsl.jfr;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트로 현재 스레드의 JDBC 실행 시간(execute + ResultSet.next)을 누적한다.
+ * QueryEvents 가 측정 구간 전후로 읽어서 실행/하이드레이션 시간을 나눈다.
+ * (측정 중인 스레드가 아니면 아무것도 하지 않는다.)
+ */
+@Component
+public class JdbcTimingListener extends JdbcEventListener {
+    private static final ThreadLocal<long[]> ELAPSED = new ThreadLocal<>();
+
+    // 측정 구간이 겹치면(stream 을 읽는 중에 다른 쿼리 실행) 안쪽 구간을 새로 시작하고, 끝나면 바깥 구간에 더한다.
+    static long[] start() {
+        long[] outer = ELAPSED.get();
+        ELAPSED.set(new long[1]);
+        return outer;
+    }
+
+    static long stop(long[] outer) {
+        long[] elapsed = ELAPSED.get();
+        long nanos = elapsed == null ? 0 : elapsed[0];
+        if (outer == null) {
+            ELAPSED.remove();
+        } else {
+            outer[0] += nanos;
+            ELAPSED.set(outer);
+        }
+        return nanos;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        add(timeElapsedNanos);
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        add(timeElapsedNanos);
+    }
+
+    private static void add(long nanos) {
+        long[] elapsed = ELAPSED.get();
+        if (elapsed != null) {
+            elapsed[0] += nanos;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.querydsl.jfr;
+
+import com.example.querydsl.repository.support.Querydsl4RepositorySupport;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 쿼리 실행을 QueryExecutionEvent 로 기록 (RecordingJPAQuery, RecordingQueries 에서 호출)
+ * - JFR 녹화 중이 아니거나 이벤트가 비활성화되어 있으면 바로 실행한다. (isEnabled 체크만 하는 수준의 비용)
+ * - repository method 는 기록할 때만 호출 스택에서 찾는다.
+ */
+final class QueryEvents {
+    private static final Pattern WHERE = Pattern.compile("\\swhere\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSES_AFTER_WHERE = Pattern.compile("\\s(group by|having|order by)\\s", Pattern.CASE_INSENSITIVE);
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private QueryEvents() {
+    }
+
+    /**
+     * @param jpql       JPQL (predicateShape, jpqlHash 용), 기록할 때만 렌더링한다.
+     * @param fetcher    실제 실행
+     * @param rowCounter 결과 → 건수
+     */
+    static <R> R record(Supplier<String> jpql, Supplier<R> fetcher, ToLongFunction<R> rowCounter) {
+        QueryExecutionEvent event = new QueryExecutionEvent();
+        if (!event.isEnabled()) {
+            return fetcher.get();
+        }
+
+        event.begin();
+        long renderStart = System.nanoTime();
+        String rendered = jpql.get(); // JPQLSerializer 로 렌더링, 상수는 ?n 파라미터
+        long renderNanos = System.nanoTime() - renderStart;
+
+        long[] outer = JdbcTimingListener.start();
+        long fetchStart = System.nanoTime();
+        R result;
+        try {
+            result = fetcher.get();
+        } finally {
+            long fetchNanos = System.nanoTime() - fetchStart;
+            long jdbcNanos = JdbcTimingListener.stop(outer);
+            event.executeNanos = jdbcNanos;
+            event.hydrateNanos = Math.max(0, fetchNanos - jdbcNanos);
+        }
+
+        event.end();
+        commit(event, rendered, renderNanos, rowCounter.applyAsLong(result));
+        return result;
+    }
+
+    /**
+     * stream 조회는 stream 을 닫을 때 기록한다. (열기 ~ 닫기, 건수는 읽은 행 수)
+     * - 이벤트 시간에 stream 을 읽는 쪽의 처리 시간도 들어가므로 hydrateNanos 는 "전체 - JDBC" 로만 본다.
+     * - 닫지 않은 stream 은 기록되지 않는다. (Querydsl/Hibernate stream 은 원래 닫아야 커넥션 자원이 반납된다)
+     */
+    static <R> Stream<R> recordStream(Supplier<String> jpql, Supplier<Stream<R>> opener) {
+        QueryExecutionEvent event = new QueryExecutionEvent();
+        if (!event.isEnabled()) {
+            return opener.get();
+        }
+
+        event.begin();
+        long renderStart = System.nanoTime();
+        String rendered = jpql.get();
+        long renderNanos = System.nanoTime() - renderStart;
+
+        long[] outer = JdbcTimingListener.start();
+        long fetchStart = System.nanoTime();
+        Stream<R> stream;
+        try {
+            stream = opener.get();
+        } catch (RuntimeException e) {
+            JdbcTimingListener.stop(outer);
+            throw e;
+        }
+
+        long[] rowCount = new long[1];
+        return stream.peek(row -> rowCount[0]++)
+                     .onClose(() -> {
+                         long fetchNanos = System.nanoTime() - fetchStart;
+                         long jdbcNanos = JdbcTimingListener.stop(outer);
+                         event.executeNanos = jdbcNanos;
+                         event.hydrateNanos = Math.max(0, fetchNanos - jdbcNanos);
+                         event.end();
+                         commit(event, rendered, renderNanos, rowCount[0]);
+                     });
+    }
+
+    private static void commit(QueryExecutionEvent event, String jpql, long renderNanos, long rowCount) {
+        if (event.shouldCommit()) {
+            event.repositoryMethod = repositoryMethod();
+            event.predicateShape = predicateShape(jpql);
+            event.jpqlHash = jpql.hashCode();
+            event.rowCount = rowCount;
+            event.renderNanos = renderNanos;
+            event.commit();
+        }
+    }
+
+    // "select ... from ... where <여기> order by ..." 의 where 절 (Querydsl 은 절마다 줄바꿈, 문자열 JPQL 은 공백)
+    static String predicateShape(String jpql) {
+        Matcher where = WHERE.matcher(jpql);
+        if (!where.find()) {
+            return "";
+        }
+        int start = where.end();
+        Matcher after = CLAUSES_AFTER_WHERE.matcher(jpql);
+        int end = after.find(start) ? after.start() : jpql.length();
+        return jpql.substring(start, end);
+    }
+
+    // Querydsl, JDK, Spring, 이 패키지, Querydsl4RepositorySupport 를 제외한 첫 번째 호출 메서드 (람다는 감싸고 있는 메서드 이름)
+    static String repositoryMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> isRepositoryFrame(frame.getDeclaringClass()))
+                .findFirst()
+                .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + methodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    private static boolean isRepositoryFrame(Class<?> type) {
+        String name = type.getName();
+        return !name.startsWith("com.querydsl.")
+                && !name.startsWith("java.")
+                && !name.startsWith("jdk.")
+                && !name.startsWith("org.springframework.")
+                && !name.startsWith(QueryEvents.class.getPackageName() + ".")
+                && type != Querydsl4RepositorySupport.class;
+    }
+
+    // lambda$searchPaginationCountQueryOptimization$0 → searchPaginationCountQueryOptimization
+    private static String methodName(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return methodName.substring("lambda$".length(), end < 0 ? methodName.length() : end);
+        }
+        return methodName;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.querydsl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * repository 에서 실행한 Querydsl/JPA 쿼리 1건에 대한 JFR 이벤트
+ * - 이벤트 duration 은 렌더링 + 실행 + 엔티티/DTO 변환(hydrate) 전체 시간
+ * - jfr/querydsl.jfc 설정으로 녹화하면 GC, 락, CPU 샘플과 같은 타임라인에서 쿼리별로 볼 수 있다.
+ */
+@Name(QueryExecutionEvent.NAME)
+@Label("Query Execution")
+@Category({"Application", "Querydsl"})
+@Description("Querydsl/JPA query executed by a repository method")
+@StackTrace(false)
+public class QueryExecutionEvent extends jdk.jfr.Event {
+    public static final String NAME = "com.example.querydsl.QueryExecution";
+
+    @Label("Repository Method")
+    String repositoryMethod;
+
+    @Label("Predicate Shape")
+    @Description("where 절 (파라미터는 ?n 으로 치환된 JPQL)")
+    String predicateShape;
+
+    @Label("JPQL Hash")
+    int jpqlHash;
+
+    @Label("Row Count")
+    @DataAmount(DataAmount.NONE)
+    long rowCount;
+
+    @Label("Render Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderNanos;
+
+    @Label("JDBC Time")
+    @Description("JDBC execute + ResultSet.next 시간 (p6spy)")
+    @Timespan(Timespan.NANOSECONDS)
+    long executeNanos;
+
+    @Label("Hydrate Time")
+    @Description("전체 fetch 시간 - JDBC 시간")
+    @Timespan(Timespan.NANOSECONDS)
+    long hydrateNanos;
+}
@@ -0,0 +1,45 @@
+package com.example.querydsl.jfr;
+
+import com.querydsl.core.QueryResults;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * fetch 계열 실행을 QueryExecutionEvent 로 기록하는 JPAQuery
+ * (select/where/orderBy 등은 같은 인스턴스를 반환하므로 체인 끝의 fetch 도 이 클래스에서 실행된다.)
+ * - stream 은 닫을 때 기록한다.
+ */
+public class RecordingJPAQuery<T> extends JPAQuery<T> {
+
+    public RecordingJPAQuery(EntityManager em) {
+        super(em);
+    }
+
+    @Override
+    public List<T> fetch() {
+        return QueryEvents.record(this::toString, super::fetch, List::size);
+    }
+
+    @Override
+    public T fetchOne() {
+        return QueryEvents.record(this::toString, super::fetchOne, result -> result == null ? 0 : 1);
+    }
+
+    @Override
+    public QueryResults<T> fetchResults() {
+        return QueryEvents.record(this::toString, super::fetchResults, results -> results.getResults().size());
+    }
+
+    @Override
+    public long fetchCount() {
+        return QueryEvents.record(this::toString, super::fetchCount, count -> 1);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return QueryEvents.recordStream(this::toString, super::stream);
+    }
+}
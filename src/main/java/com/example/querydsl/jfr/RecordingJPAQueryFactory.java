@@ -0,0 +1,24 @@
+package com.example.querydsl.jfr;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import javax.persistence.EntityManager;
+
+/**
+ * RecordingJPAQuery 를 만드는 JPAQueryFactory, repository 에서 JPAQueryFactory 대신 사용한다.
+ * select/selectFrom/from 은 모두 query() 로 쿼리를 만든다.
+ */
+public class RecordingJPAQueryFactory extends JPAQueryFactory {
+    private final EntityManager entityManager;
+
+    public RecordingJPAQueryFactory(EntityManager entityManager) {
+        super(entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new RecordingJPAQuery<Void>(entityManager);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.querydsl.jfr;
+
+import org.hibernate.query.Query;
+
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Querydsl 을 거치지 않는 JPQL 문자열 쿼리(em.createQuery)를 QueryExecutionEvent 로 기록한다.
+ *
+ * <pre>
+ * return RecordingQueries.getResultList(em.createQuery("select m from Member m", Member.class));
+ * </pre>
+ */
+public final class RecordingQueries {
+
+    private RecordingQueries() {
+    }
+
+    public static <T> List<T> getResultList(TypedQuery<T> query) {
+        return QueryEvents.record(() -> query.unwrap(Query.class).getQueryString(), query::getResultList, List::size);
+    }
+}
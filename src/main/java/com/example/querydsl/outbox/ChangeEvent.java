@@ -0,0 +1,28 @@
+package com.example.querydsl.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부(캐시, 인덱스, 복제본)로 발행되는 변경 이벤트
+ * - version 은 단조 증가하며, 재시작 후에는 마지막으로 처리한 version 부터 ChangeFeed 로 이어 읽는다.
+ */
+@Value
+public class ChangeEvent {
+    long version;
+    String aggregateType;
+    Long aggregateId;
+    ChangeType changeType;
+    String payload;
+    LocalDateTime occurredAt;
+
+    public static ChangeEvent from(OutboxEvent event) {
+        return new ChangeEvent(event.getVersion(),
+                                event.getAggregateType(),
+                                event.getAggregateId(),
+                                event.getChangeType(),
+                                event.getPayload(),
+                                event.getOccurredAt());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.querydsl.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 발행된 변경 이벤트를 version 기준으로 이어 읽기 위한 조회 API
+ * - 소비자는 마지막으로 처리한 version 을 보관했다가 재시작 시 readFrom(version, limit) 으로 이어서 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ChangeFeed {
+    private final OutboxEventRepository outboxEventRepository;
+
+    public List<ChangeEvent> readFrom(long afterVersion, int limit) {
+        return outboxEventRepository.findByVersionGreaterThanOrderByVersionAsc(afterVersion, PageRequest.of(0, limit))
+                .stream()
+                .map(ChangeEvent::from)
+                .collect(Collectors.toList());
+    }
+}
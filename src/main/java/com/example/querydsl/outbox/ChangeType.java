@@ -0,0 +1,10 @@
+package com.example.querydsl.outbox;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    BULK_CREATED,
+    BULK_UPDATED,
+    BULK_DELETED
+}
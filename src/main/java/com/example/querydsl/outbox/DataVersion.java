@@ -0,0 +1,110 @@
+package com.example.querydsl.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * member, team 테이블의 데이터 버전
+ * - data_version 행(DataVersionCounter)의 epochMillis, commitCount 로 만든다. 모든 인스턴스가 같은 DB 를 보므로 다른 인스턴스의 쓰기도 반영된다.
+ * - 카운터는 쓰기 트랜잭션 안에서 outbox 행과 함께 올라가므로, 커밋되기 전에는 버전이 바뀌지 않는다. (이전 데이터가 새 버전으로 캐시되지 않는다)
+ * - 읽은 값은 메모리에 두고, 이 인스턴스의 쓰기가 커밋되거나 OutboxPoller 가 새 outbox 행을 발견하면 버린다.
+ *   다른 인스턴스의 쓰기는 늦어도 cache-ttl-ms 뒤에 반영된다. 그 동안 If-None-Match 가 일치하는 요청은 쿼리 없이 304 를 받는다.
+ * - 따라서 member, team 을 바꾸는 쓰기는 모두 outbox 를 남겨야 한다.
+ *   엔티티 변경은 OutboxEntityListener, 벌크 연산은 OutboxBulkOperations, 그 밖의 JDBC 쓰기(import, 시드)는 OutboxRecorder 로 직접 남긴다.
+ */
+@Component
+public class DataVersion {
+    private static final String SELECT_SQL =
+            "select epoch_millis, commit_count from data_version where data_version_id = " + DataVersionCounter.ROW_ID;
+    private static final String INSERT_SQL =
+            "insert into data_version (data_version_id, epoch_millis, commit_count) values (" + DataVersionCounter.ROW_ID + ", :epochMillis, 0)";
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final long cacheTtlNanos;
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Cached cached;
+
+    public DataVersion(EntityManager em, PlatformTransactionManager transactionManager,
+                       @Value("${data-version.cache-ttl-ms:500}") long cacheTtlMillis) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+    }
+
+    // 카운터 행이 없으면 만든다. OutboxRecorder 가 이 빈에 의존하므로 첫 쓰기 전에 실행된다.
+    @PostConstruct
+    void init() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (em.createNativeQuery(SELECT_SQL).getResultList().isEmpty()) {
+                em.createNativeQuery(INSERT_SQL)
+                        .setParameter("epochMillis", System.currentTimeMillis())
+                        .executeUpdate();
+            }
+        });
+    }
+
+    public String current() {
+        Cached snapshot = cached;
+        if (snapshot != null && System.nanoTime() < snapshot.expiresAtNanos) {
+            return snapshot.value;
+        }
+        // 읽는 도중에 버려졌으면 저장하지 않는다. (커밋 이전에 읽은 값이 남지 않도록)
+        long generation = invalidations.get();
+        String value = read();
+        if (invalidations.get() == generation) {
+            cached = new Cached(value, System.nanoTime() + cacheTtlNanos);
+        }
+        return value;
+    }
+
+    /**
+     * 메모리에 둔 버전을 버린다. 다음 current() 가 DB 에서 다시 읽는다.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        cached = null;
+    }
+
+    /**
+     * 데이터 버전 + 요청 파라미터(검색 조건, 페이징 등)로 만든 strong ETag 값
+     * - 버전은 쿼리 실행 전에 한 번 읽고, 그 값을 ETag 와 single-flight key 에 같이 쓴다.
+     *   그래야 쿼리 도중 커밋된 변경이 다음 요청에서 반드시 불일치하고, 커밋 이전에 시작한 조회 결과가 새 버전으로 나가지 않는다.
+     */
+    public String etag(String version, Object... keys) {
+        StringBuilder source = new StringBuilder(version);
+        for (Object key : keys) {
+            source.append('|').append(key);
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read() {
+        List<?> rows = transactionTemplate.execute(status -> em.createNativeQuery(SELECT_SQL).getResultList());
+        if (rows.isEmpty()) {
+            return "0";
+        }
+        Object[] row = (Object[]) rows.get(0);
+        return Long.toString(((Number) row[0]).longValue(), 36) + "-" + Long.toString(((Number) row[1]).longValue(), 36);
+    }
+
+    private static final class Cached {
+        private final String value;
+        private final long expiresAtNanos;
+
+        private Cached(String value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.querydsl.outbox;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 데이터 버전 카운터 (행 하나)
+ * - member, team 을 바꾸는 트랜잭션이 outbox 행과 함께 커밋 직전에 commitCount 를 1 올린다. (OutboxRecorder)
+ *   카운터 갱신이 커밋 순서대로 직렬화되므로, 먼저 번호를 받은 트랜잭션이 늦게 커밋되어도 버전이 뒤로 가지 않는다.
+ * - 행은 DataVersion 이 시작할 때 만들고 epochMillis 는 그 시각이다. (스키마를 다시 만들어도 이전 버전 문자열과 겹치지 않는다)
+ * - 엔티티로는 읽고 쓰지 않는다. (테이블 생성/검증용 매핑, 갱신은 JDBC)
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "data_version")
+public class DataVersionCounter {
+    static final long ROW_ID = 1L;
+
+    @Id
+    @Column(name = "DATA_VERSION_ID")
+    private Long id;
+
+    @Column(nullable = false)
+    private long epochMillis;
+
+    @Column(nullable = false)
+    private long commitCount;
+}
@@ -0,0 +1,109 @@
+package com.example.querydsl.outbox;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Querydsl 벌크 연산(update, delete)은 영속성 컨텍스트와 엔티티 리스너를 거치지 않으므로
+ * 이 클래스를 통해 실행해서 outbox 에 벌크 변경 이벤트를 남긴다. (member, team 을 바꾸는 벌크 연산은 모두 여기를 거친다)
+ * - 대상 id 를 먼저 잠그고(select ... for update) 읽은 뒤 id in (...) 으로 실행하므로, 이벤트에 실제로 바뀐 id 가 빠짐없이 담긴다.
+ * - 이벤트 하나에 id 를 MAX_IDS_PER_EVENT 개까지 담고, 넘치면 이벤트를 나눈다. (payload = affected, ids, jpql)
+ * - 대상 id 를 모두 읽으므로 where 는 chunk 단위로 좁혀서 넘긴다.
+ *
+ * <pre>
+ * bulkOperations.update(member, member.age.lt(28), clause -> clause.set(member.age, member.age.add(1)));
+ * </pre>
+ */
+@Component
+public class OutboxBulkOperations {
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+    private static final int MAX_IDS_PER_EVENT = 50;
+    private static final int MAX_JPQL_LENGTH = 500;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final OutboxRecorder recorder;
+
+    public OutboxBulkOperations(EntityManager em, OutboxRecorder recorder) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.recorder = recorder;
+    }
+
+    public long update(EntityPath<?> entity, Predicate where, Function<JPAUpdateClause, JPAUpdateClause> set) {
+        NumberPath<Long> id = idPath(entity);
+        List<Long> ids = lockIds(entity, id, where);
+        long affected = 0;
+        String jpql = "";
+        for (List<Long> chunk : partition(ids, MAX_IDS_PER_STATEMENT)) {
+            JPAUpdateClause update = set.apply(queryFactory.update(entity)).where(id.in(chunk));
+            affected += update.execute();
+            jpql = update.toString();
+        }
+        recordBulk(entity, ChangeType.BULK_UPDATED, jpql, ids);
+        return affected;
+    }
+
+    public long delete(EntityPath<?> entity, Predicate where) {
+        NumberPath<Long> id = idPath(entity);
+        List<Long> ids = lockIds(entity, id, where);
+        long affected = 0;
+        String jpql = "";
+        for (List<Long> chunk : partition(ids, MAX_IDS_PER_STATEMENT)) {
+            JPADeleteClause delete = queryFactory.delete(entity).where(id.in(chunk));
+            affected += delete.execute();
+            jpql = delete.toString();
+        }
+        recordBulk(entity, ChangeType.BULK_DELETED, jpql, ids);
+        return affected;
+    }
+
+    // 식별자 경로 (member.id, team.id), 엔티티 별칭은 그대로 두어서 where 조건을 같이 쓸 수 있게 한다.
+    private NumberPath<Long> idPath(EntityPath<?> entity) {
+        String idName = em.getMetamodel().entity(entity.getType()).getId(Long.class).getName();
+        return new PathBuilder<Object>(entity.getType(), entity.getMetadata()).getNumber(idName, Long.class);
+    }
+
+    private List<Long> lockIds(EntityPath<?> entity, NumberPath<Long> id, Predicate where) {
+        return queryFactory
+                .select(id)
+                .from(entity)
+                .where(where)
+                .orderBy(id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    private void recordBulk(EntityPath<?> entity, ChangeType changeType, String jpql, List<Long> ids) {
+        String truncated = jpql.length() > MAX_JPQL_LENGTH ? jpql.substring(0, MAX_JPQL_LENGTH) : jpql;
+        for (List<Long> chunk : partition(ids, MAX_IDS_PER_EVENT)) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("affected", chunk.size());
+            payload.put("ids", chunk);
+            payload.put("jpql", truncated);
+            recorder.record(entity.getType().getSimpleName(), chunk.size() == 1 ? chunk.get(0) : null, changeType, payload);
+        }
+    }
+
+    private static List<List<Long>> partition(List<Long> ids, int size) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            chunks.add(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+        return chunks;
+    }
+}
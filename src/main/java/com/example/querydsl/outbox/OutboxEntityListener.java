@@ -0,0 +1,64 @@
+package com.example.querydsl.outbox;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Member, Team 의 persist / dirty checking update / remove 를 outbox 로 기록하는 JPA 엔티티 리스너
+ * - 하이버네이트가 SpringBeanContainer 로 생성하므로 스프링 빈을 주입받을 수 있다.
+ * - EntityManagerFactory 생성 중에 만들어지므로 순환 참조를 피하려고 ObjectProvider 로 지연 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEntityListener {
+    private final ObjectProvider<OutboxRecorder> recorder;
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        record(entity, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        record(entity, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        record(entity, ChangeType.DELETED);
+    }
+
+    private void record(Object entity, ChangeType changeType) {
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            recorder.getObject().record("Member", member.getId(), changeType, memberPayload(member));
+        } else if (entity instanceof Team) {
+            Team team = (Team) entity;
+            recorder.getObject().record("Team", team.getId(), changeType, teamPayload(team));
+        }
+    }
+
+    private Map<String, Object> memberPayload(Member member) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("username", member.getUsername());
+        payload.put("age", member.getAge());
+        // 프록시 초기화 없이 FK 만 사용
+        payload.put("teamId", member.getTeam() == null ? null : member.getTeam().getId());
+        return payload;
+    }
+
+    private Map<String, Object> teamPayload(Team team) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", team.getName());
+        return payload;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.querydsl.outbox;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Member, Team 변경 내역을 같은 트랜잭션 안에서 기록하는 outbox 테이블
+ * - 행은 OutboxRecorder 가 커밋 직전에 JDBC 로 직접 insert 하므로 id 는 IDENTITY 를 사용한다.
+ * - version 은 poller 가 발행 시점에 순서대로 부여한다(미발행 = null)
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_version", columnList = "EVENT_VERSION", unique = true)
+})
+@ToString(of = {"id", "version", "aggregateType", "aggregateId", "changeType"})
+public class OutboxEvent {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "OUTBOX_EVENT_ID")
+    private Long id;
+
+    @Column(name = "EVENT_VERSION")
+    private Long version;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(String aggregateType, Long aggregateId, ChangeType changeType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.changeType = changeType;
+        this.payload = payload;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public void publish(long version) {
+        this.version = version;
+        this.publishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.querydsl.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // 미발행 이벤트, 기록된 순서(id)대로 잠가서 읽는다. (OutboxPoller, lock timeout -2 = LockOptions.SKIP_LOCKED)
+    // 다른 인스턴스가 잠근 행은 건너뛴다. 방언이 skip locked 를 지원하지 않으면 for update 로 기다린다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findByVersionIsNullOrderByIdAsc(Pageable pageable);
+
+    // 발행된 이벤트, version 순서대로
+    List<OutboxEvent> findByVersionGreaterThanOrderByVersionAsc(Long version, Pageable pageable);
+
+    @Query("select max(e.version) from OutboxEvent e")
+    Long findMaxVersion();
+}
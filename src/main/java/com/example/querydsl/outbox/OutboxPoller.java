@@ -0,0 +1,74 @@
+package com.example.querydsl.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 미발행 outbox 이벤트를 배치 단위로 읽어 version 을 부여하고 ChangeEvent 로 발행하는 프로세스 내 poller
+ * - 배치 행을 잠그고(for update skip locked), 같은 트랜잭션에서 max(version) 을 읽어 그 다음 번호부터 부여한다.
+ *   여러 인스턴스가 동시에 부여하면 EVENT_VERSION unique 인덱스에서 한쪽만 커밋되고,
+ *   다른 쪽은 롤백 후 다음 주기에 커밋된 max(version) 부터 다시 부여한다. (version 은 빈틈없이 단조 증가한다)
+ * - 부여한 version 은 메모리에 두지 않는다. 롤백된 번호가 다음 배치에 이어지지 않는다.
+ * - version 부여는 트랜잭션 안에서 커밋하고, 발행은 커밋 이후에 한다.
+ *   발행 중 리스너가 실패하더라도 소비자는 ChangeFeed 로 해당 version 부터 다시 읽을 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPoller {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DataVersion dataVersion;
+
+    @Value("${outbox.poller.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${outbox.poller.interval-ms:500}")
+    public synchronized void poll() {
+        List<ChangeEvent> events;
+        do {
+            try {
+                events = transactionTemplate.execute(status -> assignVersions());
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                log.info("outbox version 부여 충돌(다른 인스턴스), 다음 주기에 다시 시도 : {}", e.getMessage());
+                return;
+            }
+            if (!events.isEmpty()) {
+                dataVersion.invalidate(); // 다른 인스턴스의 쓰기도 여기서 발견된다.
+            }
+            events.forEach(eventPublisher::publishEvent);
+        } while (events.size() == batchSize);
+    }
+
+    private List<ChangeEvent> assignVersions() {
+        List<OutboxEvent> pending = outboxEventRepository.findByVersionIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        // 배치를 잠근 뒤에 읽는다. 먼저 커밋한 다른 인스턴스의 version 까지 포함된다.
+        Long maxVersion = outboxEventRepository.findMaxVersion();
+        long version = maxVersion == null ? 0 : maxVersion;
+        for (OutboxEvent event : pending) {
+            event.publish(++version);
+        }
+        outboxEventRepository.flush();
+
+        log.debug("outbox 발행 : {}건, version = {}", pending.size(), version);
+        return pending.stream()
+                .map(ChangeEvent::from)
+                .collect(Collectors.toList());
+    }
+}
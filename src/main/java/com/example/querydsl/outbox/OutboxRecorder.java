@@ -0,0 +1,125 @@
+package com.example.querydsl.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 변경 내역을 현재 트랜잭션에 모아두었다가 커밋 직전에 같은 커넥션으로 outbox 테이블에 insert 한다.
+ * - 엔티티 리스너(@PostUpdate 등)는 커밋 시점의 flush 안에서도 호출되므로 스프링 beforeCommit 으로는 늦다.
+ * - 하이버네이트의 BeforeTransactionCompletionProcess 는 마지막 flush 이후, 커밋 이전에 실행되므로
+ *   그 시점에 버퍼를 JDBC batch 로 저장한다.
+ * - 같은 시점에 data_version 카운터도 1 올리므로 DataVersion 은 커밋 순서대로, 커밋 시점에 바뀐다.
+ *   (카운터 행 잠금은 커밋 직전부터 커밋까지만 잡는다, 커밋되면 이 인스턴스의 DataVersion 캐시를 버린다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+    private static final String INSERT_SQL =
+            "insert into outbox_event (aggregate_type, aggregate_id, change_type, payload, occurred_at) values (?, ?, ?, ?, ?)";
+    private static final String BUMP_VERSION_SQL =
+            "update data_version set commit_count = commit_count + 1 where data_version_id = " + DataVersionCounter.ROW_ID;
+
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+    private final DataVersion dataVersion;
+
+    public void record(String aggregateType, Long aggregateId, ChangeType changeType, Map<String, Object> payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("outbox 기록 누락, 트랜잭션 없음 : {} {} {}", aggregateType, aggregateId, changeType);
+            return;
+        }
+        currentBuffer().events.add(new OutboxEvent(aggregateType, aggregateId, changeType, toJson(payload)));
+    }
+
+    /**
+     * 스프링 트랜잭션 밖의 JDBC 트랜잭션(StatelessSession 등)에서 같은 커넥션으로 바로 insert 한다.
+     * 호출한 쪽의 커밋/롤백에 함께 반영된다.
+     */
+    public void record(Connection connection, String aggregateType, Long aggregateId, ChangeType changeType,
+                       Map<String, Object> payload) throws SQLException {
+        insert(connection, List.of(new OutboxEvent(aggregateType, aggregateId, changeType, toJson(payload))));
+    }
+
+    // outbox 행 insert + data_version 카운터 증가
+    private static void insert(Connection connection, List<OutboxEvent> events) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            for (OutboxEvent event : events) {
+                ps.setString(1, event.getAggregateType());
+                if (event.getAggregateId() == null) {
+                    ps.setNull(2, Types.BIGINT);
+                } else {
+                    ps.setLong(2, event.getAggregateId());
+                }
+                ps.setString(3, event.getChangeType().name());
+                ps.setString(4, event.getPayload());
+                ps.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(BUMP_VERSION_SQL)) {
+            ps.executeUpdate();
+        }
+    }
+
+    private OutboxBuffer currentBuffer() {
+        OutboxBuffer buffer = (OutboxBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            buffer = new OutboxBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+            em.unwrap(SessionImplementor.class).getActionQueue().registerProcess(buffer);
+        }
+        return buffer;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox payload 직렬화 실패", e);
+        }
+    }
+
+    private class OutboxBuffer implements BeforeTransactionCompletionProcess, TransactionSynchronization {
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            if (events.isEmpty()) {
+                return;
+            }
+            session.doWork(connection -> insert(connection, events));
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!events.isEmpty()) {
+                dataVersion.invalidate();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxRecorder.this);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldRows;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.outbox.DataVersion;
+import com.example.querydsl.repository.support.SingleFlight;
+import com.querydsl.core.Tuple;
+import lombok.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * MemberCustomRepository 앞단에서 동시에 들어온 동일한 검색(조건 + 페이징)을 한 번의 쿼리로 합친다.
+ * - 실제 조회는 member.search.engine 으로 고른 구현(JPA / querydsl-sql)에 위임한다.
+ *   includeArchived 조건은 member_archive 와의 union 이 필요하므로 설정과 관계없이 querydsl-sql 구현으로 조회한다.
+ * - 트래픽 급증 시 같은 조건의 요청들이 각자 트랜잭션을 열고 같은 조인/카운트 쿼리를 실행하는 것을 막는다.
+ * - key 에 데이터 버전(DataVersion)을 넣어서, 커밋 이후에 들어온 요청이 커밋 이전에 시작한 조회에 합류하지 않게 한다.
+ *   버전은 호출한 쪽이 ETag 를 만들 때 읽은 값을 넘긴다. (MemberCustomRepository 메서드는 호출할 때 한 번 읽어서 넘긴다)
+ * - 합치기 통계(getStats)는 버전을 뺀 key 별로 모은다.
+ */
+@Repository
+public class CoalescingMemberSearchRepository implements MemberCustomRepository {
+    private final MemberCustomRepository searchRepository;
+    private final ObjectProvider<MemberSqlRepository> sqlRepository;
+    private final DataVersion dataVersion;
+    private final SingleFlight<SearchKey, Object> singleFlight = new SingleFlight<>(1_000, SearchKey::withoutVersion);
+
+    // member.search.engine = jpa : Querydsl-JPA (MemberCustomRepositoryImpl), sql : querydsl-sql (MemberSqlRepository)
+    public CoalescingMemberSearchRepository(MemberRepository memberRepository,
+                                            ObjectProvider<MemberSqlRepository> sqlRepository,
+                                            DataVersion dataVersion,
+                                            @org.springframework.beans.factory.annotation.Value("${member.search.engine:jpa}") String engine) {
+        this.sqlRepository = sqlRepository;
+        this.dataVersion = dataVersion;
+        switch (engine) {
+            case "jpa":
+                this.searchRepository = memberRepository;
+                break;
+            case "sql":
+                this.searchRepository = sqlRepository.getObject();
+                break;
+            default:
+                throw new IllegalArgumentException("member.search.engine 은 jpa, sql 중 하나여야 합니다 : " + engine);
+        }
+    }
+
+    /**
+     * 설정(member.search.engine)으로 고른 검색 구현, 합치기(coalesce) 없이 바로 조회할 때 사용
+     */
+    public MemberCustomRepository getSearchRepository() {
+        return searchRepository;
+    }
+
+    /**
+     * 조건에 맞는 검색 구현, includeArchived 이면 querydsl-sql 구현(member union all member_archive)
+     */
+    public MemberCustomRepository getSearchRepository(MemberSearchCondition condition) {
+        return condition.isIncludeArchived() ? sqlRepository.getObject() : searchRepository;
+    }
+
+    @Override
+    public List<MemberTeamDto> searchWhereParameter(MemberSearchCondition condition) {
+        return searchWhereParameter(dataVersion.current(), condition);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationSimple(MemberSearchCondition condition, Pageable pageable) {
+        return searchPaginationSimple(dataVersion.current(), condition, pageable);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationComplex(MemberSearchCondition condition, Pageable pageable) {
+        return searchPaginationComplex(dataVersion.current(), condition, pageable);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationCountQueryOptimization(MemberSearchCondition condition, Pageable pageable) {
+        return searchPaginationCountQueryOptimization(dataVersion.current(), condition, pageable);
+    }
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        return searchSlice(dataVersion.current(), condition, pageable);
+    }
+
+    @Override
+    public MemberFieldRows searchFields(MemberSearchCondition condition, List<MemberField> fields) {
+        return searchFields(dataVersion.current(), condition, fields);
+    }
+
+    @Override
+    public Page<Tuple> searchFieldsPage(MemberSearchCondition condition, List<MemberField> fields, Pageable pageable) {
+        return searchFieldsPage(dataVersion.current(), condition, fields, pageable);
+    }
+
+    // 아래는 version(ETag 를 만든 데이터 버전)을 받는 버전, 요청당 버전을 한 번만 읽는 호출자가 사용한다.
+
+    public List<MemberTeamDto> searchWhereParameter(String version, MemberSearchCondition condition) {
+        return coalesce("searchWhereParameter", version, condition, null,
+                        () -> getSearchRepository(condition).searchWhereParameter(condition));
+    }
+
+    public Page<MemberTeamDto> searchPaginationSimple(String version, MemberSearchCondition condition, Pageable pageable) {
+        return coalesce("searchPaginationSimple", version, condition, pageable,
+                        () -> getSearchRepository(condition).searchPaginationSimple(condition, pageable));
+    }
+
+    public Page<MemberTeamDto> searchPaginationComplex(String version, MemberSearchCondition condition, Pageable pageable) {
+        return coalesce("searchPaginationComplex", version, condition, pageable,
+                        () -> getSearchRepository(condition).searchPaginationComplex(condition, pageable));
+    }
+
+    public Page<MemberTeamDto> searchPaginationCountQueryOptimization(String version, MemberSearchCondition condition, Pageable pageable) {
+        return coalesce("searchPaginationCountQueryOptimization", version, condition, pageable,
+                        () -> getSearchRepository(condition).searchPaginationCountQueryOptimization(condition, pageable));
+    }
+
+    public Slice<MemberTeamDto> searchSlice(String version, MemberSearchCondition condition, Pageable pageable) {
+        return coalesce("searchSlice", version, condition, pageable,
+                        () -> getSearchRepository(condition).searchSlice(condition, pageable));
+    }
+
+    public MemberFieldRows searchFields(String version, MemberSearchCondition condition, List<MemberField> fields) {
+        return coalesce("searchFields" + fields, version, condition, null,
+                        () -> getSearchRepository(condition).searchFields(condition, fields));
+    }
+
+    public Page<Tuple> searchFieldsPage(String version, MemberSearchCondition condition, List<MemberField> fields, Pageable pageable) {
+        return coalesce("searchFieldsPage" + fields, version, condition, pageable,
+                        () -> getSearchRepository(condition).searchFieldsPage(condition, fields, pageable));
+    }
+
+    /**
+     * 임의의 검색 실행을 method + 데이터 버전 + 조건 + 페이징 key 로 합친다.
+     * - version 은 ETag 를 만든 값과 같은 값을 넘긴다. (DataVersion.current() 를 요청당 한 번만 읽는다)
+     * - bulkhead 등 다른 보호 장치는 loader 안쪽에 두어야 follower 가 자리를 차지하지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String method, String version, MemberSearchCondition condition, Pageable pageable, Supplier<T> query) {
+        return (T) singleFlight.execute(SearchKey.of(method, version, condition, pageable), query::get);
+    }
+
+    /**
+     * coalesce 의 비동기 버전, follower 는 스레드를 붙잡지 않고 leader 의 결과 future 를 받는다. (SingleFlight.executeAsync)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> coalesceAsync(String method, String version, MemberSearchCondition condition, Pageable pageable,
+                                                  Supplier<T> query) {
+        return (CompletableFuture<T>) singleFlight.executeAsync(SearchKey.of(method, version, condition, pageable), query::get);
+    }
+
+    public Map<SearchKey, SingleFlight.KeyStats> getStats() {
+        return singleFlight.getStats();
+    }
+
+    /**
+     * MemberSearchCondition 은 변경 가능한 객체이므로 값을 복사해서 key 로 사용한다.
+     * 통계에는 version 을 뺀 key(withoutVersion)를 쓴다.
+     */
+    @Value(staticConstructor = "create")
+    public static class SearchKey {
+        String method;
+        String version;
+        String username;
+        String teamName;
+        Integer ageGoe;
+        Integer ageLoe;
+        boolean includeArchived;
+        Pageable pageable;
+
+        static SearchKey of(String method, String version, MemberSearchCondition condition, Pageable pageable) {
+            return create(method,
+                          version,
+                          condition.getUsername(),
+                          condition.getTeamName(),
+                          condition.getAgeGoe(),
+                          condition.getAgeLoe(),
+                          condition.isIncludeArchived(),
+                          pageable);
+        }
+
+        SearchKey withoutVersion() {
+            return create(method, null, username, teamName, ageGoe, ageLoe, includeArchived, pageable);
+        }
+    }
+}
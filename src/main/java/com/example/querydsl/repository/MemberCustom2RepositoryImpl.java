@@ -4,7 +4,9 @@ import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.dto.QMemberTeamDto;
 import com.example.querydsl.entity.Member;
+import com.example.querydsl.jfr.RecordingJPAQuery;
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
@@ -28,6 +30,17 @@ public class MemberCustom2RepositoryImpl extends QuerydslRepositorySupport imple
         super(Member.class);
     }
 
+    // QuerydslRepositorySupport.from 이 만드는 JPAQuery 대신 RecordingJPAQuery 로 실행해서 QueryExecutionEvent 를 남긴다.
+    @Override
+    protected JPQLQuery<Object> from(EntityPath<?>... paths) {
+        return new RecordingJPAQuery<>(getEntityManager()).from(paths);
+    }
+
+    @Override
+    protected <T> JPQLQuery<T> from(EntityPath<T> path) {
+        return new RecordingJPAQuery<>(getEntityManager()).select(path).from(path);
+    }
+
     @Override
     public List<MemberTeamDto> searchWhereParameter2(MemberSearchCondition condition) {
         return from(member)
@@ -79,7 +92,7 @@ public class MemberCustom2RepositoryImpl extends QuerydslRepositorySupport imple
                                                     team.name.as("teamName")));
 
 
-        JPQLQuery<MemberTeamDto> result = getQuerydsl().applyPagination(pageable, jpqlQuery);
+        JPQLQuery<MemberTeamDto> result = MemberSorts.WHITELIST.applyPagination(pageable, jpqlQuery);
 
         List<MemberTeamDto> content = result.fetch();
         long count = result.fetchCount();
@@ -1,9 +1,13 @@
 package com.example.querydsl.repository;
 
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldRows;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.querydsl.core.Tuple;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -14,4 +18,11 @@ public interface MemberCustomRepository {
     Page<MemberTeamDto> searchPaginationComplex(MemberSearchCondition condition, Pageable pageable);
 
     Page<MemberTeamDto> searchPaginationCountQueryOptimization(MemberSearchCondition condition, Pageable pageable);
+
+    // 카운트 쿼리 없이 pageSize + 1 건을 조회해서 다음 페이지 존재 여부만 판단 (무한 스크롤)
+    Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable);
+
+    // 요청한 필드(컬럼)만 조회, team 필드나 teamName 조건이 없으면 team 조인 생략
+    MemberFieldRows searchFields(MemberSearchCondition condition, List<MemberField> fields);
+    Page<Tuple> searchFieldsPage(MemberSearchCondition condition, List<MemberField> fields, Pageable pageable);
 }
@@ -1,16 +1,25 @@
 package com.example.querydsl.repository;
 
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldRows;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.dto.QMemberTeamDto;
 import com.example.querydsl.entity.Member;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.repository.support.SortWhitelist;
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.util.StringUtils;
@@ -23,27 +32,25 @@ import static com.example.querydsl.entity.QTeam.team;
 
 public class MemberCustomRepositoryImpl implements MemberCustomRepository {
     private final JPAQueryFactory queryFactory;
+    private final boolean denormalizedTeamName;
+    private final SortWhitelist sorts;
 
-    public MemberCustomRepositoryImpl(EntityManager em) {
-        this.queryFactory = new JPAQueryFactory(em);
+    // member.search.denormalized-team-name = true 이면 팀 이름 조건/조회/정렬을 member.teamName 으로 처리해서 team 조인을 생략한다.
+    public MemberCustomRepositoryImpl(EntityManager em,
+                                      @Value("${member.search.denormalized-team-name:true}") boolean denormalizedTeamName) {
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.denormalizedTeamName = denormalizedTeamName;
+        this.sorts = denormalizedTeamName ? MemberSorts.DENORMALIZED_WHITELIST : MemberSorts.WHITELIST;
     }
 
     @Override
     public List<MemberTeamDto> searchWhereParameter(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
-                .from(member)
-                .join(member.team, team)
+        return TeamMemberCounts.fill(queryFactory, selectMemberTeamDto()
                 .where(usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
-                .fetch();
+                .fetch());
     }
 
 
@@ -52,7 +59,10 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return !StringUtils.hasLength(teamName) ? null : team.name.eq(teamName);
+        if (!StringUtils.hasLength(teamName)) {
+            return null;
+        }
+        return denormalizedTeamName ? member.teamName.eq(teamName) : team.name.eq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
@@ -65,19 +75,12 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
 
     @Override
     public Page<MemberTeamDto> searchPaginationSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
-                                                .select(new QMemberTeamDto(
-                                                        member.id.as("memberId"),
-                                                        member.username,
-                                                        member.age,
-                                                        team.id.as("teamId"),
-                                                        team.name.as("teamName")))
-                                                .from(member)
-                                                .join(member.team, team)
+        QueryResults<MemberTeamDto> results = selectMemberTeamDto()
                                                 .where(usernameEq(condition.getUsername()),
                                                         teamNameEq(condition.getTeamName()),
                                                         ageGoe(condition.getAgeGoe()),
                                                         ageLoe(condition.getAgeLoe()))
+                                                .orderBy(sorts.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 + member.id
                                                 .offset(pageable.getOffset())       // ~ 번째부터 시작할 것인가?
                                                 .limit(pageable.getPageSize()) // 한번 조회 시 ~개 가져올 것인가?
                                                 .fetchResults();
@@ -85,7 +88,7 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
         // Querydsl이 제공하는 fetchResults() 를 사용하면 내용과 전체 카운트를 한번에 조회할 수 있다.(실제 쿼리는 2번 호출)
         // fetchResult() 는 카운트 쿼리 실행시 필요없는 order by 는 제거한다.
 
-        List<MemberTeamDto> content = results.getResults();
+        List<MemberTeamDto> content = TeamMemberCounts.fill(queryFactory, results.getResults());
         long total = results.getTotal();
 
         return new PageImpl<>(content, pageable, total);
@@ -94,22 +97,16 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
 
     @Override
     public Page<MemberTeamDto> searchPaginationComplex(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
-                                            .select(new QMemberTeamDto(
-                                                    member.id.as("memberId"),
-                                                    member.username,
-                                                    member.age,
-                                                    team.id.as("teamId"),
-                                                    team.name.as("teamName")))
-                                            .from(member)
-                                            .join(member.team, team)
+        List<MemberTeamDto> content = selectMemberTeamDto()
                                             .where(usernameEq(condition.getUsername()),
                                                     teamNameEq(condition.getTeamName()),
                                                     ageGoe(condition.getAgeGoe()),
                                                     ageLoe(condition.getAgeLoe()))
+                                            .orderBy(sorts.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 + member.id
                                             .offset(pageable.getOffset())       // ~ 번째부터 시작할 것인가?
                                             .limit(pageable.getPageSize()) // 한번 조회 시 ~개 가져올 것인가?
                                             .fetch();
+        TeamMemberCounts.fill(queryFactory, content);
         /* Deprecated
         long total = queryFactory
                     .select(member)
@@ -121,10 +118,7 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
                             ageLoe(condition.getAgeLoe()))
                     .fetchCount(); */
 
-        long total = queryFactory
-                        .select(member.count())
-                        .from(member)
-                        .join(member.team, team)
+        long total = selectMemberCount(condition)
                         .where(usernameEq(condition.getUsername()),
                                 teamNameEq(condition.getTeamName()),
                                 ageGoe(condition.getAgeGoe()),
@@ -141,22 +135,16 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
 
     @Override
     public Page<MemberTeamDto> searchPaginationCountQueryOptimization(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
-                                        .select(new QMemberTeamDto(
-                                                member.id.as("memberId"),
-                                                member.username,
-                                                member.age,
-                                                team.id.as("teamId"),
-                                                team.name.as("teamName")))
-                                        .from(member)
-                                        .join(member.team, team)
+        List<MemberTeamDto> content = selectMemberTeamDto()
                                         .where(usernameEq(condition.getUsername()),
                                                 teamNameEq(condition.getTeamName()),
                                                 ageGoe(condition.getAgeGoe()),
                                                 ageLoe(condition.getAgeLoe()))
+                                        .orderBy(sorts.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 + member.id
                                         .offset(pageable.getOffset())       // ~ 번째부터 시작할 것인가?
                                         .limit(pageable.getPageSize()) // 한번 조회 시 ~개 가져올 것인가?
                                         .fetch();
+        TeamMemberCounts.fill(queryFactory, content);
 
         /* Deprecated
             JPAQuery<Member> countQuery = queryFactory
@@ -170,10 +158,7 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
         // () -> countQuery.fetchCount();
 
 
-        JPAQuery<Long> countQuery = queryFactory
-                                        .select(member.count())
-                                        .from(member)
-                                        .join(member.team, team)
+        JPAQuery<Long> countQuery = selectMemberCount(condition)
                                         .where(usernameEq(condition.getUsername()),
                                                 teamNameEq(condition.getTeamName()),
                                                 ageGoe(condition.getAgeGoe()),
@@ -181,4 +166,100 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
 
         return PageableExecutionUtils.getPage(content, pageable, () -> countQuery.fetchOne());
     }
+
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = selectMemberTeamDto()
+                                        .where(usernameEq(condition.getUsername()),
+                                                teamNameEq(condition.getTeamName()),
+                                                ageGoe(condition.getAgeGoe()),
+                                                ageLoe(condition.getAgeLoe()))
+                                        .orderBy(sorts.toOrderSpecifiers(pageable.getSort())) // 허용된 정렬 + member.id
+                                        .offset(pageable.getOffset())
+                                        .limit(pageable.getPageSize() + 1) // 1건 더 조회해서 다음 페이지 존재 여부 확인
+                                        .fetch();
+        TeamMemberCounts.fill(queryFactory, content);
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+
+    @Override
+    public MemberFieldRows searchFields(MemberSearchCondition condition, List<MemberField> fields) {
+        return new MemberFieldRows(fields, fieldsQuery(condition, fields, false).fetch());
+    }
+
+    @Override
+    public Page<Tuple> searchFieldsPage(MemberSearchCondition condition, List<MemberField> fields, Pageable pageable) {
+        // teamName 정렬은 team 조인이 필요하다. (역정규화 컬럼을 쓰면 필요 없음)
+        boolean sortByTeamName = !denormalizedTeamName && pageable.getSort().getOrderFor("teamName") != null;
+        List<Tuple> content = fieldsQuery(condition, fields, sortByTeamName)
+                                    .orderBy(sorts.toOrderSpecifiers(pageable.getSort()))
+                                    .offset(pageable.getOffset())
+                                    .limit(pageable.getPageSize())
+                                    .fetch();
+
+        JPAQuery<Long> countQuery = selectMemberCount(condition)
+                                        .where(usernameEq(condition.getUsername()),
+                                                teamNameEq(condition.getTeamName()),
+                                                ageGoe(condition.getAgeGoe()),
+                                                ageLoe(condition.getAgeLoe()));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    private JPAQuery<Tuple> fieldsQuery(MemberSearchCondition condition, List<MemberField> fields, boolean teamJoinForced) {
+        boolean teamJoinRequired = teamJoinForced
+                                    || teamJoinRequired(condition)
+                                    || fields.stream().anyMatch(field -> field.isTeamJoinRequired(denormalizedTeamName));
+        Expression<?>[] paths = fields.stream()
+                                    .map(field -> field.getPath(denormalizedTeamName))
+                                    .toArray(Expression<?>[]::new);
+
+        return withTeam(queryFactory.select(paths).from(member), teamJoinRequired)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    // MemberTeamDto 조회, 역정규화 사용 시 teamId 는 FK, teamName 은 member.teamName 으로 읽어서 member 한 테이블만 조회한다.
+    // teamMemberCount 는 내용을 조회한 뒤 TeamMemberCounts 로 채운다. (team 을 조인하지 않는다)
+    private JPAQuery<MemberTeamDto> selectMemberTeamDto() {
+        if (denormalizedTeamName) {
+            return withTeam(queryFactory
+                                .select(new QMemberTeamDto(
+                                        member.id.as("memberId"),
+                                        member.username,
+                                        member.age,
+                                        member.team.id.as("teamId"),
+                                        member.teamName))
+                                .from(member), false);
+        }
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .join(member.team, team);
+    }
+
+    private JPAQuery<Long> selectMemberCount(MemberSearchCondition condition) {
+        return withTeam(queryFactory.select(member.count()).from(member), teamJoinRequired(condition));
+    }
+
+    // 팀 이름 조건에 team 조인이 필요한지
+    private boolean teamJoinRequired(MemberSearchCondition condition) {
+        return !denormalizedTeamName && StringUtils.hasLength(condition.getTeamName());
+    }
+
+    // team 조인을 생략해도 inner join 과 결과가 같도록 팀이 없는 회원은 FK 로 제외한다.
+    private <T> JPAQuery<T> withTeam(JPAQuery<T> query, boolean teamJoinRequired) {
+        return teamJoinRequired ? query.join(member.team, team) : query.where(member.team.isNotNull());
+    }
 }
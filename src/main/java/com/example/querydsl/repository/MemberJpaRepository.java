@@ -1,19 +1,28 @@
 package com.example.querydsl.repository;
 
+import com.example.querydsl.dto.InvalidSearchRequestException;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.dto.QMemberTeamDto;
 import com.example.querydsl.entity.Member;
 import com.example.querydsl.entity.QMember;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.jfr.RecordingQueries;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.example.querydsl.entity.QMember.member;
 import static com.example.querydsl.entity.QTeam.team;
@@ -21,12 +30,18 @@ import static org.springframework.util.StringUtils.hasText;
 
 @Repository
 public class MemberJpaRepository {
+    static final int MULTI_GET_CHUNK_SIZE = 256; // 2의 거듭제곱, in 절 파라미터 수의 상한
+    static final int MULTI_GET_MAX_IDS = 5_000;
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final boolean denormalizedTeamName;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em,
+                               @Value("${member.search.denormalized-team-name:true}") boolean denormalizedTeamName) {
         this.em = em;
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.denormalizedTeamName = denormalizedTeamName;
     }
 
     public void save(Member member) {
@@ -38,15 +53,80 @@ public class MemberJpaRepository {
         return Optional.ofNullable(findMember);
     }
 
+    /**
+     * 여러 id 를 한 번에 조회, 입력 순서를 유지한다. (없는 id 는 제외, 중복 id 는 같은 엔티티)
+     * - 영속성 컨텍스트, 2차 캐시에 이미 있는 엔티티는 쿼리 없이 사용한다.
+     * - 나머지는 MULTI_GET_CHUNK_SIZE 개씩 in 절로 조회하고, 파라미터 수를 2의 거듭제곱으로 맞춰서(padding)
+     *   하이버네이트 쿼리 플랜 캐시에 id 개수마다 다른 쿼리가 쌓이지 않게 한다.
+     */
+    @Transactional(readOnly = true)
+    public List<Member> findAllByIds(List<Long> ids) {
+        if (ids.size() > MULTI_GET_MAX_IDS) {
+            throw new InvalidSearchRequestException("한 번에 조회할 수 있는 id 는 최대 " + MULTI_GET_MAX_IDS + "개 입니다.");
+        }
+
+        Map<Long, Member> found = new HashMap<>();
+        List<Long> missing = findLoaded(new LinkedHashSet<>(ids), found);
+
+        for (int from = 0; from < missing.size(); from += MULTI_GET_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, missing.size()));
+            queryFactory
+                    .selectFrom(member)
+                    .leftJoin(member.team, team).fetchJoin()
+                    .where(member.id.in(padToPowerOfTwo(chunk)))
+                    .fetch()
+                    .forEach(m -> found.put(m.getId(), m));
+        }
+
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // 영속성 컨텍스트 → 2차 캐시 순으로 확인하고 DB 조회가 필요한 id 만 반환
+    private List<Long> findLoaded(Collection<Long> ids, Map<Long, Member> found) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+        Cache secondLevelCache = em.getEntityManagerFactory().getCache();
+
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Object loaded = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (loaded != null) {
+                found.put(id, (Member) loaded);
+            } else if (secondLevelCache.contains(Member.class, id)) {
+                found.put(id, em.find(Member.class, id));
+            } else {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    // [1, 2, 3] → [1, 2, 3, 3] : 마지막 값을 반복해서 파라미터 수를 2의 거듭제곱으로 맞춘다.
+    static List<Long> padToPowerOfTwo(List<Long> ids) {
+        int size = Integer.highestOneBit(ids.size());
+        if (size < ids.size()) {
+            size <<= 1;
+        }
+        List<Long> padded = new ArrayList<>(size);
+        padded.addAll(ids);
+        Long last = ids.get(ids.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
-                .getResultList();
+        return RecordingQueries.getResultList(em.createQuery("select m from Member m", Member.class));
     }
 
     public List<Member> findByUsername(String username) {
-        return em.createQuery("select m from Member m where m.username = :username", Member.class)
-                .setParameter("username", username)
-                .getResultList();
+        return RecordingQueries.getResultList(em.createQuery("select m from Member m where m.username = :username", Member.class)
+                                                .setParameter("username", username));
     }
 
 
@@ -93,8 +173,26 @@ public class MemberJpaRepository {
     }
 
 
+    // teamMemberCount 는 조회한 행의 팀 id 로 한 번 더 조회해서 채운다. (TeamMemberCounts)
     public List<MemberTeamDto> searchWhereParameter(MemberSearchCondition condition) {
-        return queryFactory
+        if (denormalizedTeamName) {
+            // team.name 역정규화 컬럼 사용 : teamId 는 FK, teamName 은 member.teamName (member 한 테이블만 조회)
+            return TeamMemberCounts.fill(queryFactory, queryFactory
+                    .select(new QMemberTeamDto(
+                            member.id.as("memberId"),
+                            member.username,
+                            member.age,
+                            member.team.id.as("teamId"),
+                            member.teamName))
+                    .from(member)
+                    .where(member.team.isNotNull(),
+                            usernameEq(condition.getUsername()),
+                            teamNameEq(condition.getTeamName()),
+                            ageGoe(condition.getAgeGoe()),
+                            ageLoe(condition.getAgeLoe()))
+                    .fetch());
+        }
+        return TeamMemberCounts.fill(queryFactory, queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -107,7 +205,7 @@ public class MemberJpaRepository {
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
-                .fetch();
+                .fetch());
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -115,7 +213,10 @@ public class MemberJpaRepository {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return !StringUtils.hasLength(teamName) ? null : team.name.eq(teamName);
+        if (!StringUtils.hasLength(teamName)) {
+            return null;
+        }
+        return denormalizedTeamName ? member.teamName.eq(teamName) : team.name.eq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer ageGoe) {
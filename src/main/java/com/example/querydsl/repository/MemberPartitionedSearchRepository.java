@@ -0,0 +1,302 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.analytics.MemberColumns;
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberAgeSummary;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 전체 회원 export / 집계를 MEMBER_ID 범위로 나눠서 병렬 실행
+ * - 조건에 맞는 min(id) ~ max(id) 를 N 개의 범위로 나누고, 같은 조건 + id between 쿼리를
+ *   dbExecutor 에서 파티션마다 별도 트랜잭션(커넥션)으로 동시에 실행한다.
+ * - export 는 id 범위를 export-chunk-ids 폭의 구간으로 나눠 partitions 개씩 병렬로 조회하고, 구간 순서대로 넘겨서 id 순서를 유지한다.
+ *   전체 결과를 모으지 않으므로 메모리에는 조회 중인 구간들만 있다.
+ * - 집계는 파티션별 부분 집계를 합친다. scanColumns 는 max-scan-rows 를 넘으면 거절한다. (400)
+ * - 파티션 수는 min(CPU 코어 수, dbExecutor 스레드 수) 로 제한한다.
+ *   dbExecutor 스레드 안에서 호출하면 자기 자신을 기다릴 수 있으므로 요청 스레드에서만 호출한다.
+ */
+@Slf4j
+@Repository
+public class MemberPartitionedSearchRepository {
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolTaskExecutor dbExecutor;
+    private final int exportChunkIds;
+    private final long maxScanRows;
+
+    public MemberPartitionedSearchRepository(EntityManager em,
+                                             PlatformTransactionManager transactionManager,
+                                             @Qualifier("dbExecutor") ThreadPoolTaskExecutor dbExecutor,
+                                             @org.springframework.beans.factory.annotation.Value("${member.analytics.export-chunk-ids:10000}") int exportChunkIds,
+                                             @org.springframework.beans.factory.annotation.Value("${member.analytics.max-scan-rows:1000000}") long maxScanRows) {
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.dbExecutor = dbExecutor;
+        this.exportChunkIds = exportChunkIds;
+        this.maxScanRows = maxScanRows;
+    }
+
+    public int getMaxPartitions() {
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), dbExecutor.getMaxPoolSize()));
+    }
+
+    /**
+     * 조건에 맞는 회원을 id 순서로 조회해서 목록으로 반환한다. (전체 결과를 메모리에 모으므로 결과가 작을 때만 사용)
+     */
+    public List<MemberTeamDto> export(MemberSearchCondition condition, int partitions) {
+        List<MemberTeamDto> result = new ArrayList<>();
+        export(condition, partitions, result::addAll);
+        return result;
+    }
+
+    /**
+     * 조건에 맞는 회원을 id 순서로 구간마다 sink 에 넘긴다. 반환값은 넘긴 회원 수
+     * - 구간(export-chunk-ids 폭)을 최대 partitions 개까지 미리 조회해 두고, 앞 구간을 넘기는 동안 다음 구간을 조회한다.
+     * - sink 는 호출한 스레드에서 구간 순서대로 호출된다.
+     */
+    public long export(MemberSearchCondition condition, int partitions, Consumer<List<MemberTeamDto>> sink) {
+        rejectArchived(condition);
+        List<IdRange> ranges = splitByWidth(condition, exportChunkIds);
+        int window = Math.min(Math.max(partitions, 1), getMaxPartitions());
+
+        Deque<Future<List<MemberTeamDto>>> inFlight = new ArrayDeque<>(window);
+        long exported = 0;
+        int next = 0;
+        try {
+            while (next < ranges.size() || !inFlight.isEmpty()) {
+                while (next < ranges.size() && inFlight.size() < window) {
+                    IdRange range = ranges.get(next++);
+                    inFlight.add(dbExecutor.submit(() -> readOnlyTransaction.execute(status -> searchQuery(condition)
+                                                                .where(member.id.between(range.getFrom(), range.getTo()))
+                                                                .orderBy(member.id.asc())
+                                                                .fetch())));
+                }
+                List<MemberTeamDto> rows = await(inFlight.poll());
+                sink.accept(rows);
+                exported += rows.size();
+            }
+            return exported;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true)); // 실패 시 남은 구간 취소
+        }
+    }
+
+    /**
+     * 파티션별로 조회한 회원 목록을 partialAggregator 로 부분 집계하고 combiner 로 합친다.
+     * (부분 집계는 각 파티션 스레드에서 실행된다.)
+     * - 조건에 맞는 회원이 없으면 파티션도 없으므로 identity(빈 집계)를 반환한다.
+     */
+    public <A> A aggregate(MemberSearchCondition condition, int partitions, A identity,
+                           Function<List<MemberTeamDto>, A> partialAggregator, BinaryOperator<A> combiner) {
+        return executePartitioned(condition, partitions, range -> partialAggregator.apply(searchQuery(condition)
+                                                                                .where(member.id.between(range.getFrom(), range.getTo()))
+                                                                                .fetch()))
+                .stream()
+                .reduce(identity, combiner);
+    }
+
+    /**
+     * 나이 집계, 파티션별 부분 집계는 DB 에서 계산(count, sum, min, max)하고 결과만 합친다.
+     */
+    public MemberAgeSummary ageSummary(MemberSearchCondition condition, int partitions) {
+        return executePartitioned(condition, partitions, range -> {
+                    Tuple row = queryFactory
+                                    .select(member.count(), member.age.sum(), member.age.min(), member.age.max())
+                                    .from(member)
+                                    .join(member.team, team)
+                                    .where(usernameEq(condition.getUsername()),
+                                            teamNameEq(condition.getTeamName()),
+                                            ageGoe(condition.getAgeGoe()),
+                                            ageLoe(condition.getAgeLoe()),
+                                            member.id.between(range.getFrom(), range.getTo()))
+                                    .fetchOne();
+                    Long count = row.get(member.count());
+                    Number sum = row.get(1, Number.class); // JPQL sum(int) 의 결과 타입은 Long
+                    return count == null || count == 0
+                            ? MemberAgeSummary.empty()
+                            : new MemberAgeSummary(count, sum.longValue(), row.get(member.age.min()), row.get(member.age.max()));
+                })
+                .stream()
+                .reduce(MemberAgeSummary.empty(), MemberAgeSummary::combine);
+    }
+
+    /**
+     * 집계 엔진(MemberAggregationEngine) 입력용, (memberId, teamId, age) 만 파티션별로 스트리밍 조회해서 컬럼 배열로 모은다.
+     */
+    public MemberColumns scanColumns(MemberSearchCondition condition, int partitions) {
+        AtomicLong scanned = new AtomicLong();
+        List<MemberColumns.Builder> parts = executePartitioned(condition, partitions, range -> {
+            MemberColumns.Builder builder = MemberColumns.builder(1_024);
+            try (Stream<Tuple> rows = queryFactory
+                                        .select(member.id, team.id, member.age)
+                                        .from(member)
+                                        .join(member.team, team)
+                                        .where(usernameEq(condition.getUsername()),
+                                                teamNameEq(condition.getTeamName()),
+                                                ageGoe(condition.getAgeGoe()),
+                                                ageLoe(condition.getAgeLoe()),
+                                                member.id.between(range.getFrom(), range.getTo()))
+                                        .stream()) {
+                rows.forEach(row -> {
+                    if (scanned.incrementAndGet() > maxScanRows) {
+                        throw new InvalidSearchRequestException("집계 대상 회원이 " + maxScanRows + "명을 넘습니다. 조건을 좁혀 주세요.");
+                    }
+                    builder.add(row.get(member.id), row.get(team.id), row.get(member.age));
+                });
+            }
+            return builder;
+        });
+
+        MemberColumns.Builder merged = MemberColumns.builder(0);
+        parts.forEach(merged::addAll);
+        return merged.build();
+    }
+
+    private <R> List<R> executePartitioned(MemberSearchCondition condition, int partitions, Function<IdRange, R> task) {
+        rejectArchived(condition);
+        List<IdRange> ranges = split(condition, Math.min(Math.max(partitions, 1), getMaxPartitions()));
+        log.debug("partitioned scan, condition = {}, ranges = {}", condition, ranges);
+
+        List<Future<R>> futures = new ArrayList<>(ranges.size());
+        try {
+            for (IdRange range : ranges) {
+                futures.add(dbExecutor.submit(() -> readOnlyTransaction.execute(status -> task.apply(range))));
+            }
+
+            List<R> results = new ArrayList<>(ranges.size());
+            for (Future<R> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true)); // 실패 시 나머지 파티션 취소 (완료된 작업은 영향 없음)
+        }
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("partitioned scan interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // MEMBER_ID 범위는 member 테이블 기준이므로 member_archive 를 함께 나눌 수 없다.
+    private static void rejectArchived(MemberSearchCondition condition) {
+        if (condition.isIncludeArchived()) {
+            throw new InvalidSearchRequestException("파티션 조회(export, 집계)는 includeArchived 를 지원하지 않습니다.");
+        }
+    }
+
+    // 조건에 맞는 id 범위를 같은 폭의 구간 partitions 개로 나눈다. (대상이 없으면 빈 목록)
+    private List<IdRange> split(MemberSearchCondition condition, int partitions) {
+        IdRange bounds = bounds(condition);
+        if (bounds == null) {
+            return new ArrayList<>();
+        }
+        long width = Math.max(1, (bounds.getTo() - bounds.getFrom() + partitions) / partitions); // 올림
+        return ranges(bounds, width);
+    }
+
+    // 조건에 맞는 id 범위를 width 폭의 구간으로 나눈다. (구간마다 최대 width 행)
+    private List<IdRange> splitByWidth(MemberSearchCondition condition, long width) {
+        IdRange bounds = bounds(condition);
+        return bounds == null ? new ArrayList<>() : ranges(bounds, Math.max(1, width));
+    }
+
+    private IdRange bounds(MemberSearchCondition condition) {
+        Tuple bounds = queryFactory
+                            .select(member.id.min(), member.id.max())
+                            .from(member)
+                            .join(member.team, team)
+                            .where(usernameEq(condition.getUsername()),
+                                    teamNameEq(condition.getTeamName()),
+                                    ageGoe(condition.getAgeGoe()),
+                                    ageLoe(condition.getAgeLoe()))
+                            .fetchOne();
+        Long min = bounds.get(member.id.min());
+        Long max = bounds.get(member.id.max());
+        return min == null || max == null ? null : new IdRange(min, max);
+    }
+
+    private static List<IdRange> ranges(IdRange bounds, long width) {
+        List<IdRange> ranges = new ArrayList<>();
+        for (long from = bounds.getFrom(); from <= bounds.getTo(); from += width) {
+            ranges.add(new IdRange(from, Math.min(bounds.getTo(), from + width - 1)));
+        }
+        return ranges;
+    }
+
+    private JPAQuery<MemberTeamDto> searchQuery(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")))
+                .from(member)
+                .join(member.team, team)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+
+    @Value
+    static class IdRange {
+        long from;
+        long to;
+    }
+}
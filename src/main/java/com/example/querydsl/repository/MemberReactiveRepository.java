@@ -0,0 +1,167 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * MemberCustomRepositoryImpl.searchWhereParameter / 페이징 조회의 논블로킹(R2DBC) 버전
+ * - Querydsl 이 생성하는 것과 같은 SQL(member inner join team + 동적 where)을 같은 조건 의미로 만들어서 실행한다.
+ * - 결과는 Flux 로 한 행씩 흘려보내므로 구독자의 요청량(backpressure)만큼만 읽는다.
+ * - JDBC DataSource 와 같은 H2 데이터베이스에 접속한다. (DataSourceProperties 의 URL 을 그대로 사용)
+ * - 커넥션은 member-reactive.pool 설정의 ConnectionPool 로 재사용하고, 빈이 없어질 때 풀을 닫는다.
+ *   ConnectionFactory 타입 빈을 등록하면 JDBC DataSource 자동설정이 빠지므로 풀은 빈으로 노출하지 않고 여기서 소유한다.
+ * - 정렬은 MemberSorts 와 같은 key 만 허용하고, 항상 member_id 를 tie-breaker 로 붙인다. (JPA 경로와 같은 순서, 페이지가 결정적)
+ */
+@Repository
+public class MemberReactiveRepository implements DisposableBean {
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+    private static final String TIE_BREAKER = "m.member_id";
+    // MemberSorts.WHITELIST 와 같은 key → 컬럼
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", TIE_BREAKER,
+            "memberId", TIE_BREAKER,
+            "username", "m.username",
+            "age", "m.age",
+            "teamId", "m.team_id",
+            "teamName", "t.name");
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public MemberReactiveRepository(DataSourceProperties dataSourceProperties,
+                                    @Value("${member-reactive.pool.initial-size:2}") int initialSize,
+                                    @Value("${member-reactive.pool.max-size:10}") int maxSize,
+                                    @Value("${member-reactive.pool.max-idle-ms:600000}") long maxIdleMillis) {
+        String jdbcUrl = dataSourceProperties.determineUrl();
+        Assert.isTrue(jdbcUrl != null && jdbcUrl.startsWith(JDBC_H2_PREFIX), "R2DBC 조회는 H2 데이터베이스만 지원합니다 : " + jdbcUrl);
+
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(
+                H2ConnectionConfiguration.builder()
+                        .url(jdbcUrl.substring(JDBC_H2_PREFIX.length()))
+                        .username(dataSourceProperties.determineUsername())
+                        .password(Objects.toString(dataSourceProperties.determinePassword(), ""))
+                        .build());
+        this.connectionPool = new ConnectionPool(
+                ConnectionPoolConfiguration.builder(connectionFactory)
+                        .name("member-reactive")
+                        .initialSize(initialSize)
+                        .maxSize(maxSize)
+                        .maxIdleTime(Duration.ofMillis(maxIdleMillis))
+                        .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    public Flux<MemberTeamDto> searchWhereParameter(MemberSearchCondition condition) {
+        return search(condition, null);
+    }
+
+    public Flux<MemberTeamDto> searchPagination(MemberSearchCondition condition, Pageable pageable) {
+        return search(condition, pageable);
+    }
+
+    private Flux<MemberTeamDto> search(MemberSearchCondition condition, Pageable pageable) {
+        // member 만 읽는다. 보관된 회원(member_archive)까지 검색하려면 querydsl-sql 구현(/api/v1/members 등)을 사용한다.
+        if (condition.isIncludeArchived()) {
+            throw new InvalidSearchRequestException("R2DBC 조회는 includeArchived 를 지원하지 않습니다.");
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder()
+                .append("select m.member_id, m.username, m.age, t.team_id, t.name, t.member_count")
+                .append(" from member m")
+                .append(" inner join team t on m.team_id = t.team_id")
+                .append(where(condition, params))
+                .append(orderBy(pageable == null ? Sort.unsorted() : pageable.getSort()));
+
+        if (pageable != null && pageable.isPaged()) {
+            sql.append(" limit :limit offset :offset");
+            params.put("limit", pageable.getPageSize());
+            params.put("offset", pageable.getOffset());
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(this::toMemberTeamDto).all();
+    }
+
+    // MemberCustomRepositoryImpl 의 usernameEq, teamNameEq, ageGoe, ageLoe 와 같은 의미 (값이 없으면 조건 생략)
+    private String where(MemberSearchCondition condition, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder();
+        if (StringUtils.hasLength(condition.getUsername())) {
+            and(where).append("m.username = :username");
+            params.put("username", condition.getUsername());
+        }
+        if (StringUtils.hasLength(condition.getTeamName())) {
+            and(where).append("t.name = :teamName");
+            params.put("teamName", condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            and(where).append("m.age >= :ageGoe");
+            params.put("ageGoe", condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            and(where).append("m.age <= :ageLoe");
+            params.put("ageLoe", condition.getAgeLoe());
+        }
+        return where.toString();
+    }
+
+    // SortWhitelist.toOrderSpecifiers 와 같은 규칙 : 허용된 key 만, 마지막에 tie-breaker (이미 마지막 기준이면 생략)
+    private String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        boolean tieBreakerIncluded = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidSearchRequestException("정렬할 수 없는 속성 : " + order.getProperty() + ", 허용 : " + SORT_COLUMNS.keySet());
+            }
+            orderBy.append(column).append(order.isAscending() ? " asc" : " desc").append(", ");
+            tieBreakerIncluded = column.equals(TIE_BREAKER);
+        }
+        if (tieBreakerIncluded) {
+            return orderBy.substring(0, orderBy.length() - 2);
+        }
+        return orderBy.append(TIE_BREAKER).append(" asc").toString();
+    }
+
+    private StringBuilder and(StringBuilder where) {
+        return where.append(where.length() == 0 ? " where " : " and ");
+    }
+
+    private MemberTeamDto toMemberTeamDto(Row row) {
+        Integer age = row.get(2, Integer.class);
+        return new MemberTeamDto(row.get(0, Long.class),
+                                 row.get(1, String.class),
+                                 age == null ? 0 : age,
+                                 row.get(3, Long.class),
+                                 row.get(4, String.class),
+                                 row.get(5, Long.class));
+    }
+}
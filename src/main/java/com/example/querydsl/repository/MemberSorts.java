@@ -0,0 +1,35 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.repository.support.SortWhitelist;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * member 검색에서 허용하는 정렬 key
+ * - member.id(PK), username(idx_member_username), age(idx_member_age), team FK, team.name(idx_team_name)
+ * - teamId 는 member 의 FK 컬럼으로 정렬하므로 team 조인이 필요 없다.
+ */
+public final class MemberSorts {
+    public static final SortWhitelist WHITELIST = SortWhitelist.tieBreaker(member.id)
+                                                        .allow("id", member.id)
+                                                        .allow("memberId", member.id)
+                                                        .allow("username", member.username)
+                                                        .allow("age", member.age)
+                                                        .allow("teamId", member.team.id)
+                                                        .allow("teamName", team.name)
+                                                        .build();
+
+    // team.name 역정규화 사용 시 teamName 정렬도 member 테이블(idx_member_team_name)에서 처리
+    public static final SortWhitelist DENORMALIZED_WHITELIST = SortWhitelist.tieBreaker(member.id)
+                                                                    .allow("id", member.id)
+                                                                    .allow("memberId", member.id)
+                                                                    .allow("username", member.username)
+                                                                    .allow("age", member.age)
+                                                                    .allow("teamId", member.team.id)
+                                                                    .allow("teamName", member.teamName)
+                                                                    .build();
+
+    private MemberSorts() {
+    }
+}
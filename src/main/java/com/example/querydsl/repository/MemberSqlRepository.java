@@ -0,0 +1,335 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldRows;
+import com.example.querydsl.dto.MemberRankDto;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.QMemberRankDto;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.example.querydsl.repository.support.SortWhitelist;
+import com.example.querydsl.sql.SMember;
+import com.example.querydsl.sql.SMemberArchive;
+import com.example.querydsl.sql.STeam;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * MemberCustomRepository 의 querydsl-sql 구현 (member.search.engine=sql)
+ * - 결과가 DTO 뿐인 검색은 엔티티가 필요 없으므로 JPQL 파싱/SQL 변환, 하이버네이트 결과 처리 없이
+ *   SQL 메타모델(SMember, STeam)로 바로 SQL 을 만들고 행을 MemberTeamDto 생성자로 매핑한다.
+ * - SQLQueryFactory 는 스프링 트랜잭션의 커넥션을 쓰므로 읽기 전용 트랜잭션 안에서 실행한다.
+ * - teamMemberCount 는 내용을 조회한 뒤 TeamMemberCounts 로 채운다. (내용 쿼리는 TEAM 을 조인하지 않는다)
+ * - 필드 선택 조회(searchFields*)는 Tuple key 가 JPA 경로(MemberField)이므로 JPA 구현에 위임한다.
+ * - JPQL 로 표현할 수 없는 윈도우 함수 조회(searchTeamRank)와
+ *   member_archive 를 포함하는 검색(includeArchived, union all)도 여기서 제공한다.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberSqlRepository implements MemberCustomRepository {
+    private static final SMember member = SMember.member;
+    private static final STeam team = STeam.team;
+    private static final SMemberArchive memberArchive = SMemberArchive.memberArchive;
+
+    // includeArchived : (member union all member_archive) hot_cold 의 컬럼
+    private static final PathBuilder<Tuple> hotCold = new PathBuilder<>(Tuple.class, "hot_cold");
+    private static final NumberPath<Long> HOT_COLD_MEMBER_ID = hotCold.getNumber("member_id", Long.class);
+    private static final StringPath HOT_COLD_USERNAME = hotCold.getString("username");
+    private static final NumberPath<Integer> HOT_COLD_AGE = hotCold.getNumber("age", Integer.class);
+    private static final NumberPath<Long> HOT_COLD_TEAM_ID = hotCold.getNumber("team_id", Long.class);
+    private static final StringPath HOT_COLD_TEAM_NAME = hotCold.getString("team_name");
+
+    private static final SortWhitelist HOT_COLD_SORTS = SortWhitelist.tieBreaker(HOT_COLD_MEMBER_ID)
+                                                            .allow("id", HOT_COLD_MEMBER_ID)
+                                                            .allow("memberId", HOT_COLD_MEMBER_ID)
+                                                            .allow("username", HOT_COLD_USERNAME)
+                                                            .allow("age", HOT_COLD_AGE)
+                                                            .allow("teamId", HOT_COLD_TEAM_ID)
+                                                            .allow("teamName", HOT_COLD_TEAM_NAME)
+                                                            .build();
+
+    private final SQLQueryFactory queryFactory;
+    private final MemberRepository memberRepository;
+    private final boolean denormalizedTeamName;
+    private final SortWhitelist sorts;
+
+    // member.search.denormalized-team-name = true 이면 팀 이름을 MEMBER.TEAM_NAME 으로 읽고 TEAM 조인을 생략한다.
+    public MemberSqlRepository(SQLQueryFactory queryFactory, MemberRepository memberRepository,
+                               @Value("${member.search.denormalized-team-name:true}") boolean denormalizedTeamName) {
+        this.queryFactory = queryFactory;
+        this.memberRepository = memberRepository;
+        this.denormalizedTeamName = denormalizedTeamName;
+        // MemberSorts 와 같은 key, 같은 인덱스 컬럼
+        this.sorts = SortWhitelist.tieBreaker(member.memberId)
+                        .allow("id", member.memberId)
+                        .allow("memberId", member.memberId)
+                        .allow("username", member.username)
+                        .allow("age", member.age)
+                        .allow("teamId", member.teamId)
+                        .allow("teamName", teamNamePath())
+                        .build();
+    }
+
+    @Override
+    public List<MemberTeamDto> searchWhereParameter(MemberSearchCondition condition) {
+        return TeamMemberCounts.fill(queryFactory, contentQuery(condition).fetch());
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationSimple(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = TeamMemberCounts.fill(queryFactory, paged(contentQuery(condition), condition, pageable).fetch());
+        return new PageImpl<>(content, pageable, count(condition));
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationComplex(MemberSearchCondition condition, Pageable pageable) {
+        return searchPaginationSimple(condition, pageable);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPaginationCountQueryOptimization(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = TeamMemberCounts.fill(queryFactory, paged(contentQuery(condition), condition, pageable).fetch());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(condition));
+    }
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(condition)
+                                        .orderBy(sorts(condition).toOrderSpecifiers(pageable.getSort()))
+                                        .offset(pageable.getOffset())
+                                        .limit(pageable.getPageSize() + 1) // 1건 더 조회해서 다음 페이지 존재 여부 확인
+                                        .fetch();
+        TeamMemberCounts.fill(queryFactory, content);
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public MemberFieldRows searchFields(MemberSearchCondition condition, List<MemberField> fields) {
+        rejectArchived(condition);
+        return memberRepository.searchFields(condition, fields);
+    }
+
+    @Override
+    public Page<Tuple> searchFieldsPage(MemberSearchCondition condition, List<MemberField> fields, Pageable pageable) {
+        rejectArchived(condition);
+        return memberRepository.searchFieldsPage(condition, fields, pageable);
+    }
+
+    // 필드 선택 조회는 JPA 구현에 위임하므로 member_archive 를 읽을 수 없다.
+    private void rejectArchived(MemberSearchCondition condition) {
+        if (condition.isIncludeArchived()) {
+            throw new InvalidSearchRequestException("필드 선택 조회(fields)는 includeArchived 를 지원하지 않습니다.");
+        }
+    }
+
+    /**
+     * 팀별 나이 순위, topN 이 있으면 팀마다 나이 많은 topN 명만 (팀마다 쿼리하거나 전체를 읽어서 자바로 정렬하지 않는다)
+     * <pre>
+     * select ... from (select m.*, t.name,
+     *                         row_number() over (partition by m.team_id order by m.age desc, m.member_id) row_num,
+     *                         rank()       over (partition by m.team_id order by m.age desc) team_rank
+     *                  from member m join team t on ... where (검색 조건)) ranked   -- 역정규화 사용 시 team 조인 없음
+     * where row_num <= :topN
+     * order by team_id, row_num
+     * </pre>
+     * - 검색 조건은 순위를 매기기 전에 적용한다. (조건에 맞는 회원 안에서의 순위)
+     * - idx_member_team_age(TEAM_ID, AGE) 로 팀별 나이 순서를 인덱스에서 바로 읽는다.
+     * - includeArchived 이면 member union all member_archive 안에서 순위를 매긴다.
+     */
+    public List<MemberRankDto> searchTeamRank(MemberSearchCondition condition, Integer topN) {
+        if (topN != null && topN < 1) {
+            throw new InvalidSearchRequestException("topN 은 1 이상이어야 합니다 : " + topN);
+        }
+        SQLQuery<Tuple> rankedQuery;
+        if (condition.isIncludeArchived()) {
+            rankedQuery = SQLExpressions
+                    .select(rankColumns(HOT_COLD_MEMBER_ID, HOT_COLD_USERNAME, HOT_COLD_AGE, HOT_COLD_TEAM_ID, HOT_COLD_TEAM_NAME))
+                    .unionAll(hotCold, hotRows(condition), archiveRows(condition));
+        } else {
+            rankedQuery = withTeam(SQLExpressions
+                    .select(rankColumns(member.memberId, member.username, member.age, member.teamId, teamNamePath()))
+                    .from(member), !denormalizedTeamName)
+                    .where(usernameEq(condition.getUsername()),
+                            teamNameEq(condition.getTeamName()),
+                            ageGoe(condition.getAgeGoe()),
+                            ageLoe(condition.getAgeLoe()));
+        }
+
+        PathBuilder<Tuple> ranked = new PathBuilder<>(Tuple.class, "ranked");
+        NumberPath<Long> teamId = ranked.getNumber("team_id", Long.class);
+        NumberPath<Long> rowNumber = ranked.getNumber("row_num", Long.class);
+        return queryFactory
+                .select(new QMemberRankDto(
+                        ranked.getNumber("member_id", Long.class),
+                        ranked.getString("username"),
+                        ranked.getNumber("age", Integer.class),
+                        teamId,
+                        ranked.getString("team_name"),
+                        rowNumber,
+                        ranked.getNumber("team_rank", Long.class)))
+                .from(rankedQuery, ranked)
+                .where(topN == null ? null : rowNumber.loe(topN.longValue()))
+                .orderBy(teamId.asc(), rowNumber.asc())
+                .fetch();
+    }
+
+    private Expression<?>[] rankColumns(NumberPath<Long> memberId, StringPath username, NumberPath<Integer> age,
+                                        NumberPath<Long> teamId, StringPath teamName) {
+        return new Expression<?>[]{
+                memberId.as("member_id"),
+                username.as("username"),
+                age.as("age"),
+                teamId.as("team_id"),
+                teamName.as("team_name"),
+                SQLExpressions.rowNumber().over()
+                        .partitionBy(teamId)
+                        .orderBy(age.desc(), memberId.asc())
+                        .as("row_num"),
+                SQLExpressions.rank().over()
+                        .partitionBy(teamId)
+                        .orderBy(age.desc())
+                        .as("team_rank")};
+    }
+
+    private SQLQuery<MemberTeamDto> contentQuery(MemberSearchCondition condition) {
+        if (condition.isIncludeArchived()) {
+            return queryFactory
+                    .select(new QMemberTeamDto(
+                            HOT_COLD_MEMBER_ID,
+                            HOT_COLD_USERNAME,
+                            HOT_COLD_AGE,
+                            HOT_COLD_TEAM_ID,
+                            HOT_COLD_TEAM_NAME))
+                    .unionAll(hotCold, hotRows(condition), archiveRows(condition));
+        }
+        SQLQuery<MemberTeamDto> query = queryFactory
+                                            .select(new QMemberTeamDto(
+                                                    member.memberId,
+                                                    member.username,
+                                                    member.age,
+                                                    member.teamId,
+                                                    teamNamePath()))
+                                            .from(member);
+        return withTeam(query, !denormalizedTeamName)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    // union all 의 member 쪽, 검색 조건은 각 테이블의 인덱스를 쓰도록 union 안쪽에 적용한다.
+    private SQLQuery<Tuple> hotRows(MemberSearchCondition condition) {
+        return withTeam(SQLExpressions
+                .select(member.memberId.as("member_id"),
+                        member.username.as("username"),
+                        member.age.as("age"),
+                        member.teamId.as("team_id"),
+                        teamNamePath().as("team_name"))
+                .from(member), !denormalizedTeamName)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    // union all 의 member_archive 쪽, 팀 이름은 보관 시점이 아닌 현재 팀 이름으로 조회한다.
+    private SQLQuery<Tuple> archiveRows(MemberSearchCondition condition) {
+        return SQLExpressions
+                .select(memberArchive.memberId.as("member_id"),
+                        memberArchive.username.as("username"),
+                        memberArchive.age.as("age"),
+                        memberArchive.teamId.as("team_id"),
+                        team.name.as("team_name"))
+                .from(memberArchive)
+                .join(team).on(memberArchive.teamId.eq(team.teamId))
+                .where(archiveWhere(condition));
+    }
+
+    private BooleanExpression[] archiveWhere(MemberSearchCondition condition) {
+        return new BooleanExpression[]{
+                !StringUtils.hasLength(condition.getUsername()) ? null : memberArchive.username.eq(condition.getUsername()),
+                !StringUtils.hasLength(condition.getTeamName()) ? null : team.name.eq(condition.getTeamName()),
+                condition.getAgeGoe() == null ? null : memberArchive.age.goe(condition.getAgeGoe()),
+                condition.getAgeLoe() == null ? null : memberArchive.age.loe(condition.getAgeLoe())};
+    }
+
+    private SQLQuery<MemberTeamDto> paged(SQLQuery<MemberTeamDto> query, MemberSearchCondition condition, Pageable pageable) {
+        return query.orderBy(sorts(condition).toOrderSpecifiers(pageable.getSort()))   // 허용된 정렬 + member_id
+                    .offset(pageable.getOffset())
+                    .limit(pageable.getPageSize());
+    }
+
+    private SortWhitelist sorts(MemberSearchCondition condition) {
+        return condition.isIncludeArchived() ? HOT_COLD_SORTS : sorts;
+    }
+
+    // includeArchived 이면 union 전체를 세지 않고 테이블별 count 를 더한다.
+    private long count(MemberSearchCondition condition) {
+        long count = countQuery(condition).fetchOne();
+        if (condition.isIncludeArchived()) {
+            count += queryFactory
+                        .select(memberArchive.memberId.count())
+                        .from(memberArchive)
+                        .join(team).on(memberArchive.teamId.eq(team.teamId))
+                        .where(archiveWhere(condition))
+                        .fetchOne();
+        }
+        return count;
+    }
+
+    private SQLQuery<Long> countQuery(MemberSearchCondition condition) {
+        boolean teamJoinRequired = !denormalizedTeamName && StringUtils.hasLength(condition.getTeamName());
+        return withTeam(queryFactory.select(member.memberId.count()).from(member), teamJoinRequired)
+                .where(usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    // team 조인을 생략해도 inner join 과 결과가 같도록 팀이 없는 회원은 FK 로 제외한다.
+    private <T> SQLQuery<T> withTeam(SQLQuery<T> query, boolean teamJoinRequired) {
+        return teamJoinRequired ? query.join(team).on(member.teamId.eq(team.teamId)) : query.where(member.teamId.isNotNull());
+    }
+
+    private StringPath teamNamePath() {
+        return denormalizedTeamName ? member.teamName : team.name;
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return !StringUtils.hasLength(username) ? null : member.username.eq(username);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return !StringUtils.hasLength(teamName) ? null : teamNamePath().eq(teamName);
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+}
@@ -7,6 +7,7 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
@@ -41,12 +42,12 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                                         ageGoe(condition.getAgeGoe()),
                                         ageLoe(condition.getAgeLoe()));
 
-        List<Member> content = getQuerydsl().applyPagination(pageable, query).fetch();
+        List<Member> content = MemberSorts.WHITELIST.applyPagination(pageable, query).fetch();
         return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
     }
 
     public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable) {
-        return applyPagination(pageable, contentQuery -> contentQuery
+        return applyPagination(pageable, MemberSorts.WHITELIST, contentQuery -> contentQuery
                                                                         .selectFrom(member)
                                                                         .leftJoin(member.team, team)
                                                                         .where(usernameEq(condition.getUsername()),
@@ -57,7 +58,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
 
     public Page<Member> applyPagination2(MemberSearchCondition condition,
                                          Pageable pageable) {
-        return applyPagination(pageable, contentQuery -> contentQuery
+        return applyPagination(pageable, MemberSorts.WHITELIST, contentQuery -> contentQuery
                                                                         .selectFrom(member)
                                                                         .leftJoin(member.team, team)
                                                                         .where(usernameEq(condition.getUsername()),
@@ -74,6 +75,37 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         );
     }
 
+    public Slice<Member> applySlicing(MemberSearchCondition condition, Pageable pageable) {
+        return applySlicing(pageable, MemberSorts.WHITELIST, contentQuery -> contentQuery
+                                                                        .selectFrom(member)
+                                                                        .leftJoin(member.team, team)
+                                                                        .where(usernameEq(condition.getUsername()),
+                                                                               teamNameEq(condition.getTeamName()),
+                                                                               ageGoe(condition.getAgeGoe()),
+                                                                               ageLoe(condition.getAgeLoe())));
+    }
+
+    /**
+     * id 페이징 → fetch join 조회 (Querydsl4RepositorySupport.applyPaginationByIds)
+     * 반환된 Member 의 team 은 프록시가 아닌 실제 엔티티로 채워져 있다.
+     */
+    public Page<Member> searchPageByIds(MemberSearchCondition condition, Pageable pageable) {
+        return applyPaginationByIds(pageable, MemberSorts.WHITELIST,
+                idQuery -> idQuery
+                        .select(member.id)
+                        .from(member)
+                        .leftJoin(member.team, team)
+                        .where(usernameEq(condition.getUsername()),
+                               teamNameEq(condition.getTeamName()),
+                               ageGoe(condition.getAgeGoe()),
+                               ageLoe(condition.getAgeLoe())),
+                (entityQuery, ids) -> entityQuery
+                        .selectFrom(member)
+                        .leftJoin(member.team, team).fetchJoin()
+                        .where(member.id.in(ids)),
+                Member::getId);
+    }
+
     private BooleanExpression usernameEq(String username) {
         return isEmpty(username) ? null : member.username.eq(username);
     }
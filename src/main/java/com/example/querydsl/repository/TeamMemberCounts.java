@@ -0,0 +1,71 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.QTeam;
+import com.example.querydsl.sql.STeam;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.SQLQueryFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MemberTeamDto.teamMemberCount 채우기
+ * - 내용 쿼리는 team.member_count 를 읽으려고 team 을 조인하지 않는다. (역정규화 사용 시 member 한 테이블만 조회)
+ * - 조회한 행의 팀 id 로 team_id in (...) 쿼리를 한 번 더 실행해서 채운다. (팀 수만큼, IN_CHUNK_SIZE 개씩)
+ */
+final class TeamMemberCounts {
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private TeamMemberCounts() {
+    }
+
+    static <T extends List<MemberTeamDto>> T fill(JPAQueryFactory queryFactory, T rows) {
+        QTeam team = QTeam.team;
+        Map<Long, Long> counts = new HashMap<>();
+        for (List<Long> chunk : teamIds(rows)) {
+            for (Tuple row : queryFactory.select(team.id, team.memberCount).from(team).where(team.id.in(chunk)).fetch()) {
+                counts.put(row.get(team.id), row.get(team.memberCount));
+            }
+        }
+        return apply(rows, counts);
+    }
+
+    static <T extends List<MemberTeamDto>> T fill(SQLQueryFactory queryFactory, T rows) {
+        STeam team = STeam.team;
+        Map<Long, Long> counts = new HashMap<>();
+        for (List<Long> chunk : teamIds(rows)) {
+            for (Tuple row : queryFactory.select(team.teamId, team.memberCount).from(team).where(team.teamId.in(chunk)).fetch()) {
+                counts.put(row.get(team.teamId), row.get(team.memberCount));
+            }
+        }
+        return apply(rows, counts);
+    }
+
+    private static List<List<Long>> teamIds(List<MemberTeamDto> rows) {
+        Set<Long> teamIds = new LinkedHashSet<>();
+        for (MemberTeamDto row : rows) {
+            if (row.getTeamId() != null) {
+                teamIds.add(row.getTeamId());
+            }
+        }
+        List<Long> ids = new ArrayList<>(teamIds);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static <T extends List<MemberTeamDto>> T apply(T rows, Map<Long, Long> counts) {
+        for (MemberTeamDto row : rows) {
+            row.setTeamMemberCount(counts.get(row.getTeamId()));
+        }
+        return rows;
+    }
+}
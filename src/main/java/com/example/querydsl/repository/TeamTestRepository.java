@@ -0,0 +1,60 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.support.Querydsl4RepositorySupport;
+import com.example.querydsl.repository.support.SortWhitelist;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.springframework.util.StringUtils.isEmpty;
+
+@Repository
+public class TeamTestRepository extends Querydsl4RepositorySupport {
+    // id 쿼리가 distinct 이므로 정렬 컬럼이 select 절(team.id)에 있어야 한다.
+    private static final SortWhitelist WHITELIST = SortWhitelist.tieBreaker(team.id)
+                                                                .allow("id", team.id)
+                                                                .allow("teamId", team.id)
+                                                                .build();
+
+    public TeamTestRepository() {
+        super(Team.class);
+    }
+
+    /**
+     * 조건에 맞는 회원이 있는 팀을 페이징하고, 팀의 회원 컬렉션(team.members)을 fetch join 으로 함께 조회한다.
+     * - 컬렉션 fetch join 쿼리에 limit 을 걸면 하이버네이트가 전체를 읽어 메모리에서 페이징(HHH000104)하므로
+     *   id 만 먼저 페이징한다. (Querydsl4RepositorySupport.applyPaginationByIds)
+     * - id 쿼리도 team.members 를 조인하므로 팀 id 가 회원 수만큼 중복된다. distinct 로 팀 id 단위로 페이징/카운트한다.
+     * - 엔티티 쿼리는 id 조건만 걸어서 members 컬렉션이 조건으로 걸러지지 않은 전체로 채워지게 한다.
+     */
+    public Page<Team> searchPageWithMembers(MemberSearchCondition condition, Pageable pageable) {
+        return applyPaginationByIds(pageable, WHITELIST,
+                idQuery -> idQuery
+                        .select(team.id).distinct()
+                        .from(team)
+                        .join(team.members, member)
+                        .where(teamNameEq(condition.getTeamName()),
+                               ageGoe(condition.getAgeGoe()),
+                               ageLoe(condition.getAgeLoe())),
+                (entityQuery, ids) -> entityQuery
+                        .selectFrom(team)
+                        .leftJoin(team.members, member).fetchJoin()
+                        .where(team.id.in(ids)),
+                Team::getId);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return isEmpty(teamName) ? null : team.name.eq(teamName);
+    }
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+}
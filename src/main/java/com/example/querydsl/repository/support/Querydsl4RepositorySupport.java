@@ -1,5 +1,6 @@
 package com.example.querydsl.repository.support;
 
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.dsl.PathBuilder;
@@ -8,6 +9,8 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.data.jpa.repository.support.Querydsl;
@@ -18,8 +21,14 @@ import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Querydsl 4.x 버전에 맞춘 Querydsl 지원 라이브러리
@@ -48,7 +57,7 @@ public class Querydsl4RepositorySupport {
 
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(entityManager, new PathBuilder<>(path.getType(), path.getMetadata()));
-        this.queryFactory = new JPAQueryFactory(entityManager);
+        this.queryFactory = new RecordingJPAQueryFactory(entityManager);
     }
 
     @PostConstruct
@@ -78,19 +87,71 @@ public class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
-    protected <T> Page<T> applyPagination(Pageable pageable, Function<JPAQueryFactory, JPAQuery> contentQuery) {
+    /**
+     * 클라이언트 정렬을 SortWhitelist 로 제한하는 페이징 (허용되지 않은 정렬은 InvalidSearchRequestException)
+     * - Pageable 의 Sort 를 그대로 넘기는 Querydsl.applyPagination 은 임의 경로 정렬(인덱스 없는 컬럼, 연관 경로)을 허용하므로
+     *   정렬이 있는 페이징은 모두 whitelist 를 받는 메서드만 제공한다.
+     */
+    protected <T> Page<T> applyPagination(Pageable pageable, SortWhitelist sortWhitelist,
+                                          Function<JPAQueryFactory, JPAQuery> contentQuery) {
         JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable, jpaQuery).fetch();
+        List<T> content = sortWhitelist.applyPagination(pageable, jpaQuery).fetch();
         return PageableExecutionUtils.getPage(content, pageable, jpaQuery::fetchCount);
     }
 
-    protected <T> Page<T> applyPagination(Pageable pageable,
+    protected <T> Page<T> applyPagination(Pageable pageable, SortWhitelist sortWhitelist,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
         JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
+        List<T> content = sortWhitelist.applyPagination(pageable, jpaContentQuery).fetch();
         JPAQuery countResult = countQuery.apply(getQueryFactory());
         return PageableExecutionUtils.getPage(content, pageable, countResult::fetchCount);
     }
 
+    /**
+     * 카운트 쿼리 없는 페이징, pageSize + 1 건을 조회해서 다음 페이지 존재 여부(hasNext)만 판단한다.
+     */
+    protected <T> Slice<T> applySlicing(Pageable pageable, SortWhitelist sortWhitelist,
+                                        Function<JPAQueryFactory, JPAQuery> contentQuery) {
+        JPAQuery<T> jpaQuery = contentQuery.apply(getQueryFactory());
+        List<T> content = jpaQuery
+                .orderBy(sortWhitelist.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)
+                .fetch();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * 2단계 페이징 : id 만 페이징해서 조회(인덱스만으로 처리) → 해당 id 의 엔티티를 fetch join 으로 조회 → id 순서대로 정렬
+     * fetch join(특히 컬렉션) 쿼리에 바로 limit 을 걸면 하이버네이트가 전체를 읽어 메모리에서 페이징(HHH000104)하므로 이 방식을 사용한다.
+     *
+     * @param idQuery     select(엔티티.id) 조회 쿼리, 조건/정렬에 필요한 조인 포함 (fetch join X)
+     *                    컬렉션을 조인하면 id 가 중복되므로 distinct 를 건다. (페이지 크기, 카운트가 id 단위가 되도록)
+     * @param entityQuery 주어진 id 목록의 엔티티를 fetch join 으로 조회하는 쿼리 (페이징/정렬 X)
+     * @param idGetter    엔티티 → id
+     */
+    protected <T, ID> Page<T> applyPaginationByIds(Pageable pageable, SortWhitelist sortWhitelist,
+                                                   Function<JPAQueryFactory, JPAQuery<ID>> idQuery,
+                                                   BiFunction<JPAQueryFactory, List<ID>, JPAQuery<T>> entityQuery,
+                                                   Function<T, ID> idGetter) {
+        JPAQuery<ID> jpaIdQuery = idQuery.apply(getQueryFactory());
+        List<ID> ids = sortWhitelist.applyPagination(pageable, jpaIdQuery).fetch();
+        if (ids.isEmpty()) {
+            return PageableExecutionUtils.getPage(Collections.<T>emptyList(), pageable, jpaIdQuery::fetchCount);
+        }
+
+        // 컬렉션 fetch join 이면 같은 엔티티가 여러 번 나오므로 id 기준으로 중복 제거
+        Map<ID, T> entities = new LinkedHashMap<>();
+        for (T entity : entityQuery.apply(getQueryFactory(), ids).fetch()) {
+            entities.putIfAbsent(idGetter.apply(entity), entity);
+        }
+        List<T> content = ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, jpaIdQuery::fetchCount);
+    }
 }
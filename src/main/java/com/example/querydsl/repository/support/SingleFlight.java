@@ -0,0 +1,133 @@
+package com.example.querydsl.repository.support;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 로 동시에 들어온 요청을 하나의 실행으로 합치는 single-flight
+ * - 먼저 들어온 요청(leader)만 loader 를 실행하고, 실행 중에 들어온 같은 key 요청(follower)은 결과를 공유한다.
+ * - in-flight 등록/해제는 ConcurrentHashMap 의 putIfAbsent/remove 로만 처리한다. (lock 없음)
+ * - 결과를 캐시하지 않는다. leader 가 끝나면 다음 요청은 다시 실행한다.
+ * - 통계는 statsKey 로 바꾼 key 별로 모은다. key 에 계속 바뀌는 값(데이터 버전 등)이 있으면 그 값을 뺀 key 를 쓴다.
+ *   (그대로 쓰면 지난 값의 key 가 maxTrackedKeys 를 채워서 새 key 가 집계되지 않는다)
+ *
+ * @param <K> equals/hashCode 가 정의된 불변 key
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, KeyStats> stats = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+    private final Function<K, K> statsKey;
+
+    public SingleFlight(int maxTrackedKeys) {
+        this(maxTrackedKeys, Function.identity());
+    }
+
+    public SingleFlight(int maxTrackedKeys, Function<K, K> statsKey) {
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.statsKey = statsKey;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            record(key, false);
+            return join(existing);
+        }
+
+        record(key, true);
+        try {
+            V result = loader.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * execute 의 비동기 버전, follower 는 기다리지 않고 leader 의 future 를 그대로 받는다.
+     * - leader 는 호출한 스레드에서 loader 를 실행하고 완료된 future 를 반환한다.
+     * - follower 가 받은 future 를 취소해도 leader 와 다른 follower 에는 영향이 없다. (복사본을 반환)
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<V> loader) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            record(key, false);
+            return existing.thenApply(Function.identity());
+        }
+
+        record(key, true);
+        try {
+            leader.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, leader);
+        }
+        return leader;
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void record(K flightKey, boolean executed) {
+        K key = statsKey.apply(flightKey);
+        KeyStats keyStats = stats.get(key);
+        if (keyStats == null) {
+            // 추적하는 key 수를 제한해서 검색 조건 조합이 많아도 메모리가 늘지 않게 한다.
+            if (stats.size() >= maxTrackedKeys) {
+                return;
+            }
+            keyStats = stats.computeIfAbsent(key, k -> new KeyStats());
+        }
+        if (executed) {
+            keyStats.executed.increment();
+        } else {
+            keyStats.shared.increment();
+        }
+    }
+
+    public Map<K, KeyStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * executed : 실제로 쿼리를 실행한 횟수, shared : 다른 요청의 결과를 공유받은 횟수
+     */
+    @Getter
+    public static class KeyStats {
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder shared = new LongAdder();
+
+        @Override
+        public String toString() {
+            return "KeyStats(executed=" + executed.sum() + ", shared=" + shared.sum() + ")";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.querydsl.repository.support;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.JPQLQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클라이언트 정렬 key 를 허용된(인덱스가 있는) Querydsl 경로로만 변환하는 정렬 whitelist
+ * - 허용되지 않은 key 는 InvalidSearchRequestException(400) 으로 거절한다.
+ * - 함수가 필요한 ignoreCase 정렬은 인덱스를 탈 수 없으므로 대소문자 구분 정렬로 바꾼다.
+ * - 마지막에 항상 tie-breaker(고유 키)를 붙여서 같은 값이 여러 페이지에 걸쳐도 순서가 결정되게 한다.
+ */
+@Slf4j
+public class SortWhitelist {
+    private final Map<String, ComparableExpressionBase<?>> paths;
+    private final ComparableExpressionBase<?> tieBreaker;
+
+    private SortWhitelist(Map<String, ComparableExpressionBase<?>> paths, ComparableExpressionBase<?> tieBreaker) {
+        this.paths = paths;
+        this.tieBreaker = tieBreaker;
+    }
+
+    public static Builder tieBreaker(ComparableExpressionBase<?> tieBreaker) {
+        return new Builder(tieBreaker);
+    }
+
+    public boolean isAllowed(String key) {
+        return paths.containsKey(key);
+    }
+
+    public OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean tieBreakerIncluded = false;
+
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = paths.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSearchRequestException("정렬할 수 없는 속성 : " + order.getProperty() + ", 허용 : " + paths.keySet());
+            }
+            if (order.isIgnoreCase()) {
+                log.debug("ignoreCase 정렬은 인덱스를 사용할 수 없어 대소문자 구분 정렬로 변경 : {}", order.getProperty());
+            }
+            orders.add(order.isAscending() ? path.asc() : path.desc());
+            tieBreakerIncluded = path.equals(tieBreaker);
+        }
+
+        // 고유 키가 이미 마지막 정렬 기준이면 다시 붙이지 않는다.
+        if (!tieBreakerIncluded) {
+            orders.add(tieBreaker.asc());
+        }
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    /**
+     * Querydsl.applyPagination(pageable, query) 대신 사용, whitelist 로 변환한 정렬 + offset/limit 적용
+     */
+    public <T> JPQLQuery<T> applyPagination(Pageable pageable, JPQLQuery<T> query) {
+        query.orderBy(toOrderSpecifiers(pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.offset(pageable.getOffset());
+            query.limit(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    public static class Builder {
+        private final ComparableExpressionBase<?> tieBreaker;
+        private final Map<String, ComparableExpressionBase<?>> paths = new LinkedHashMap<>();
+
+        private Builder(ComparableExpressionBase<?> tieBreaker) {
+            this.tieBreaker = tieBreaker;
+        }
+
+        public Builder allow(String key, ComparableExpressionBase<?> path) {
+            paths.put(key, path);
+            return this;
+        }
+
+        public SortWhitelist build() {
+            return new SortWhitelist(Collections.unmodifiableMap(new LinkedHashMap<>(paths)), tieBreaker);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.querydsl.sql;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/**
+ * MEMBER_ARCHIVE 테이블 querydsl-sql 메타모델 (querydsl-sql-codegen MetaDataSerializer 출력 형식)
+ * - 스키마는 JPA 엔티티(MemberArchive)가 만들므로 엔티티 매핑을 바꾸면 이 클래스도 같이 바꾼다. (SqlMetamodelSchemaTest 가 스키마와 비교한다)
+ */
+public class SMemberArchive extends RelationalPathBase<SMemberArchive> {
+    private static final long serialVersionUID = 1L;
+
+    public static final SMemberArchive memberArchive = new SMemberArchive("member_archive");
+
+    public final NumberPath<Long> memberId = createNumber("memberId", Long.class);
+
+    public final StringPath username = createString("username");
+
+    public final NumberPath<Integer> age = createNumber("age", Integer.class);
+
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+
+    public final StringPath teamName = createString("teamName");
+
+    public final DateTimePath<LocalDateTime> lastActiveAt = createDateTime("lastActiveAt", LocalDateTime.class);
+
+    public final DateTimePath<LocalDateTime> archivedAt = createDateTime("archivedAt", LocalDateTime.class);
+
+    public final PrimaryKey<SMemberArchive> primary = createPrimaryKey(memberId);
+
+    public SMemberArchive(String variable) {
+        super(SMemberArchive.class, forVariable(variable), "PUBLIC", "MEMBER_ARCHIVE");
+        addMetadata();
+    }
+
+    public SMemberArchive(String variable, String schema, String table) {
+        super(SMemberArchive.class, forVariable(variable), schema, table);
+        addMetadata();
+    }
+
+    public SMemberArchive(Path<? extends SMemberArchive> path) {
+        super(path.getType(), path.getMetadata(), "PUBLIC", "MEMBER_ARCHIVE");
+        addMetadata();
+    }
+
+    public SMemberArchive(PathMetadata metadata) {
+        super(SMemberArchive.class, metadata, "PUBLIC", "MEMBER_ARCHIVE");
+        addMetadata();
+    }
+
+    public void addMetadata() {
+        addMetadata(memberId, ColumnMetadata.named("MEMBER_ID").withIndex(1).ofType(Types.BIGINT).withSize(64).notNull());
+        addMetadata(age, ColumnMetadata.named("AGE").withIndex(2).ofType(Types.INTEGER).withSize(32).notNull());
+        addMetadata(archivedAt, ColumnMetadata.named("ARCHIVED_AT").withIndex(3).ofType(Types.TIMESTAMP).withSize(26));
+        addMetadata(lastActiveAt, ColumnMetadata.named("LAST_ACTIVE_AT").withIndex(4).ofType(Types.TIMESTAMP).withSize(26));
+        addMetadata(teamId, ColumnMetadata.named("TEAM_ID").withIndex(5).ofType(Types.BIGINT).withSize(64));
+        addMetadata(teamName, ColumnMetadata.named("TEAM_NAME").withIndex(6).ofType(Types.VARCHAR).withSize(255));
+        addMetadata(username, ColumnMetadata.named("USERNAME").withIndex(7).ofType(Types.VARCHAR).withSize(255));
+    }
+}
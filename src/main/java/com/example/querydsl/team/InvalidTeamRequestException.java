@@ -0,0 +1,12 @@
+package com.example.querydsl.team;
+
+/**
+ * 클라이언트가 보낸 팀 요청(없는 팀, 빈 이름, 같은 팀으로 이동)이 잘못된 경우
+ * - ApiExceptionAdvice 에서 400 으로 응답한다.
+ */
+public class InvalidTeamRequestException extends RuntimeException {
+
+    public InvalidTeamRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.entity.Member;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.Objects;
+
+/**
+ * Member 의 persist / 팀 변경 update / remove 를 team.member_count 증감으로 TeamMemberCounter 에 넘기는 JPA 엔티티 리스너
+ * - 로딩/저장 시점의 팀을 Member.countedTeamId 에 두고, update 후 현재 팀과 다르면 이전 팀 -1, 새 팀 +1 한다.
+ * - 팀은 id 만 읽으므로 지연 로딩된 팀을 초기화하지 않는다.
+ * - 하이버네이트가 SpringBeanContainer 로 생성하므로 OutboxEntityListener 와 같이 ObjectProvider 로 지연 조회한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamMemberCountListener {
+    private final ObjectProvider<TeamMemberCounter> counter;
+
+    @PostLoad
+    public void postLoad(Member member) {
+        member.setCountedTeamId(teamId(member));
+    }
+
+    @PostPersist
+    public void postPersist(Member member) {
+        Long teamId = teamId(member);
+        counter.getObject().add(teamId, 1);
+        member.setCountedTeamId(teamId);
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        Long teamId = teamId(member);
+        if (Objects.equals(teamId, member.getCountedTeamId())) {
+            return;
+        }
+        counter.getObject().add(member.getCountedTeamId(), -1);
+        counter.getObject().add(teamId, 1);
+        member.setCountedTeamId(teamId);
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        counter.getObject().add(member.getCountedTeamId(), -1);
+    }
+
+    private Long teamId(Member member) {
+        return member.getTeam() == null ? null : member.getTeam().getId();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.querydsl.team;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * team.member_count 와 count(member) 비교 결과
+ * - teamIds : 값이 다른 팀
+ * - drift : 팀별 차이(절댓값)의 합
+ */
+@Value
+public class TeamMemberCountReport {
+    List<Long> teamIds;
+    long drift;
+
+    public boolean isConsistent() {
+        return teamIds.isEmpty();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.outbox.OutboxBulkOperations;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * team.member_count 유지
+ * - 회원 insert/delete/팀 변경/벌크 이동의 증감(delta)을 트랜잭션에 팀별로 모았다가, 커밋 직전에 같은 커넥션으로
+ *   member_count = member_count + :delta 를 실행한다. (OutboxRecorder 와 같은 BeforeTransactionCompletionProcess)
+ *   증감이 회원 변경과 함께 커밋/롤백되므로 반영 전 delta 가 따로 남지 않고, 여러 인스턴스가 있어도 값을 덮어쓰지 않는다.
+ * - 팀 행 잠금은 커밋 직전부터 커밋까지만 잡고, 교착되지 않도록 팀 id 순서로 갱신한다.
+ * - 회원 변경이 같은 트랜잭션에서 outbox 이벤트를 남기므로 DataVersion 도 함께 바뀐다.
+ * - 엔티티/카운터를 거치지 않은 변경으로 어긋난 값은 reconcile 이 count(member) 로 다시 맞춘다.
+ *   (OutboxBulkOperations 로 팀 행을 먼저 잠그고 실행하므로 진행 중인 증감과 겹쳐도 두 번 세지 않는다)
+ */
+@Slf4j
+@Component
+public class TeamMemberCounter {
+    private static final String INCREMENT_SQL = "update team set member_count = member_count + ? where team_id = ?";
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final OutboxBulkOperations bulkOperations;
+    private final TransactionTemplate transactionTemplate;
+
+    public TeamMemberCounter(EntityManager em, OutboxBulkOperations bulkOperations,
+                             PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.bulkOperations = bulkOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 팀 회원 수 증감, 현재 트랜잭션이 커밋될 때 함께 반영된다.
+     */
+    public void add(Long teamId, long delta) {
+        if (teamId == null || delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("team.member_count 증감은 트랜잭션 안에서만 할 수 있습니다 : " + teamId);
+        }
+        currentDeltas().deltas.merge(teamId, delta, Long::sum);
+    }
+
+    /**
+     * 스프링 트랜잭션 밖의 JDBC 트랜잭션(StatelessSession 등)에서 같은 커넥션으로 바로 반영한다.
+     * 호출한 쪽의 커밋/롤백에 함께 반영된다.
+     */
+    public void add(Connection connection, Map<Long, Long> deltas) throws SQLException {
+        increment(connection, new TreeMap<>(deltas));
+    }
+
+    public long currentCount(Long teamId) {
+        Long memberCount = transactionTemplate.execute(status -> queryFactory
+                                                                    .select(team.memberCount)
+                                                                    .from(team)
+                                                                    .where(team.id.eq(teamId))
+                                                                    .fetchOne());
+        if (memberCount == null) {
+            throw new InvalidTeamRequestException("팀이 없습니다 : " + teamId);
+        }
+        return memberCount;
+    }
+
+    /**
+     * member_count 와 실제 회원 수(count(member))가 다른 팀을 찾는다.
+     */
+    public TeamMemberCountReport check() {
+        List<Tuple> rows = transactionTemplate.execute(status -> queryFactory
+                                                                    .select(team.id, team.memberCount, member.count())
+                                                                    .from(team)
+                                                                    .leftJoin(team.members, member)
+                                                                    .groupBy(team.id, team.memberCount)
+                                                                    .having(member.count().ne(team.memberCount))
+                                                                    .fetch());
+        List<Long> teamIds = new ArrayList<>();
+        long drift = 0;
+        for (Tuple row : rows) {
+            teamIds.add(row.get(team.id));
+            drift += Math.abs(row.get(member.count()) - row.get(team.memberCount));
+        }
+        return new TeamMemberCountReport(teamIds, drift);
+    }
+
+    /**
+     * 어긋난 팀의 member_count 를 count(member) 로 다시 맞추고, 맞추기 전의 검사 결과를 반환한다.
+     * - 팀마다 별도 트랜잭션에서 팀 행을 잠근 뒤 센다. 잠그기 전에 커밋된 증감은 count 에 포함되고,
+     *   커밋 전이던 증감은 잠금이 풀린 뒤 그 위에 더해진다.
+     * - OutboxBulkOperations 로 실행하므로 outbox 에 BULK_UPDATED 가 남는다. (DataVersion 증가)
+     */
+    public TeamMemberCountReport reconcile() {
+        TeamMemberCountReport report = check();
+        for (Long teamId : report.getTeamIds()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    bulkOperations.update(team, team.id.eq(teamId),
+                                          clause -> clause.set(team.memberCount, JPAExpressions.select(member.count())
+                                                                                                .from(member)
+                                                                                                .where(member.team.id.eq(teamId)))));
+        }
+        if (!report.isConsistent()) {
+            log.warn("team.member_count 보정 : {}", report);
+        }
+        return report;
+    }
+
+    @Scheduled(fixedDelayString = "${member.team-member-count.reconcile-interval-ms:3600000}",
+               initialDelayString = "${member.team-member-count.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    // 팀 id 순서로 갱신한다. (여러 트랜잭션이 같은 팀들을 갱신해도 교착되지 않는다)
+    private static void increment(Connection connection, Map<Long, Long> deltas) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INCREMENT_SQL)) {
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                if (entry.getValue() == 0) {
+                    continue;
+                }
+                ps.setLong(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 현재 트랜잭션의 delta, 트랜잭션마다 하나만 등록해서 팀별로 합쳐 둔다.
+    // (REQUIRES_NEW 로 바깥 트랜잭션이 중단되면 suspend 에서 풀었다가 resume 에서 다시 묶으므로 섞이지 않는다)
+    private CommitDeltas currentDeltas() {
+        CommitDeltas commitDeltas = (CommitDeltas) TransactionSynchronizationManager.getResource(this);
+        if (commitDeltas == null) {
+            commitDeltas = new CommitDeltas();
+            TransactionSynchronizationManager.bindResource(this, commitDeltas);
+            TransactionSynchronizationManager.registerSynchronization(commitDeltas);
+            em.unwrap(SessionImplementor.class).getActionQueue().registerProcess(commitDeltas);
+        }
+        return commitDeltas;
+    }
+
+    // 엔티티 리스너(@PostUpdate 등)는 커밋 시점의 flush 안에서도 호출되므로 마지막 flush 이후에 반영한다.
+    private class CommitDeltas implements BeforeTransactionCompletionProcess, TransactionSynchronization {
+        private final Map<Long, Long> deltas = new TreeMap<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            if (deltas.isEmpty()) {
+                return;
+            }
+            session.doWork(connection -> increment(connection, deltas));
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TeamMemberCounter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TeamMemberCounter.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TeamMemberCounter.this);
+        }
+    }
+}
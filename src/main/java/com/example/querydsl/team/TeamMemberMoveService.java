@@ -0,0 +1,95 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.outbox.OutboxBulkOperations;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 팀 소속 회원 전체를 다른 팀으로 옮긴다. (벌크 재배정)
+ * - 엔티티를 읽지 않고 MEMBER_ID 범위 chunkSize 단위 벌크 update 로 TEAM_ID 와 teamName(역정규화 컬럼)을 바꾼다.
+ * - 벌크 update 는 엔티티 리스너를 거치지 않으므로 chunk 마다 옮긴 수를 TeamMemberCounter 에 직접 넘긴다. (같은 트랜잭션에서 반영)
+ * - chunk 크기는 팀 이름 전파와 같은 member.team-name-sync.chunk-size 를 사용한다.
+ */
+@Slf4j
+@Component
+public class TeamMemberMoveService {
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final OutboxBulkOperations bulkOperations;
+    private final TeamMemberCounter teamMemberCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TeamMemberMoveService(EntityManager em,
+                                 OutboxBulkOperations bulkOperations,
+                                 TeamMemberCounter teamMemberCounter,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${member.team-name-sync.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("member.team-name-sync.chunk-size 는 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.bulkOperations = bulkOperations;
+        this.teamMemberCounter = teamMemberCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * fromTeamId 팀의 회원을 모두 toTeamId 팀으로 옮긴다. 반환값은 옮긴 회원 수
+     */
+    public long moveAll(Long fromTeamId, Long toTeamId) {
+        if (fromTeamId.equals(toTeamId)) {
+            throw new InvalidTeamRequestException("같은 팀으로 옮길 수 없습니다 : " + fromTeamId);
+        }
+        Tuple range = transactionTemplate.execute(status -> {
+            if (em.find(Team.class, fromTeamId) == null || em.find(Team.class, toTeamId) == null) {
+                throw new InvalidTeamRequestException("팀이 없습니다 : " + fromTeamId + ", " + toTeamId);
+            }
+            return queryFactory
+                    .select(member.id.min(), member.id.max())
+                    .from(member)
+                    .where(member.team.id.eq(fromTeamId))
+                    .fetchOne();
+        });
+        Long minId = range == null ? null : range.get(member.id.min());
+        Long maxId = range == null ? null : range.get(member.id.max());
+        if (minId == null) {
+            return 0;
+        }
+
+        JPQLQuery<String> toTeamName = JPAExpressions.select(team.name).from(team).where(team.id.eq(toTeamId));
+        long moved = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long to = Math.min(from + chunkSize - 1, maxId);
+            long chunkFrom = from;
+            moved += transactionTemplate.execute(status -> {
+                long affected = bulkOperations.update(member,
+                                                      member.team.id.eq(fromTeamId).and(member.id.between(chunkFrom, to)),
+                                                      clause -> clause
+                                                                  .set(member.team, em.getReference(Team.class, toTeamId))
+                                                                  .set(member.teamName, toTeamName));
+                teamMemberCounter.add(fromTeamId, -affected);
+                teamMemberCounter.add(toTeamId, affected);
+                return affected;
+            });
+        }
+        log.info("팀 회원 이동 완료 : {} → {}, 옮긴 회원 수 = {}, chunkSize = {}", fromTeamId, toTeamId, moved, chunkSize);
+        return moved;
+    }
+}
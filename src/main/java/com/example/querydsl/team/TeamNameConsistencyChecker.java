@@ -0,0 +1,111 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * member.teamName(역정규화 컬럼)과 team.name 이 어긋난 회원을 찾고 고친다.
+ * - 팀 이름 전파가 chunk 중간에 실패했거나, 엔티티를 거치지 않고 member 를 직접 바꾼 경우를 잡는다.
+ * - 주기적으로 검사해서 로그를 남기고, auto-repair 가 켜져 있으면 TeamRenameService 로 다시 전파한다.
+ */
+@Slf4j
+@Component
+public class TeamNameConsistencyChecker {
+    private final JPAQueryFactory queryFactory;
+    private final TeamRenameService teamRenameService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean autoRepair;
+
+    public TeamNameConsistencyChecker(EntityManager em,
+                                      TeamRenameService teamRenameService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${member.team-name-sync.auto-repair:false}") boolean autoRepair) {
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.teamRenameService = teamRenameService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.autoRepair = autoRepair;
+    }
+
+    /**
+     * 읽기 전용 트랜잭션으로 검사한다. (scheduledCheck, repair 에서 this 로 호출해도 트랜잭션이 걸리도록
+     * @Transactional 프록시 대신 TransactionTemplate 을 쓴다)
+     */
+    public TeamNameConsistencyReport check() {
+        // team.id 별 어긋난 회원 수, 팀이 없는 회원은 team.id = null 그룹
+        List<Tuple> rows = readOnlyTransaction.execute(status -> queryFactory
+                                .select(team.id, member.count())
+                                .from(member)
+                                .leftJoin(member.team, team)
+                                .where(inconsistent())
+                                .groupBy(team.id)
+                                .fetch());
+
+        long inconsistentMembers = 0;
+        long membersWithoutTeam = 0;
+        List<Long> teamIds = new ArrayList<>();
+        for (Tuple row : rows) {
+            Long teamId = row.get(team.id);
+            long count = row.get(member.count());
+            inconsistentMembers += count;
+            if (teamId == null) {
+                membersWithoutTeam = count;
+            } else {
+                teamIds.add(teamId);
+            }
+        }
+        return new TeamNameConsistencyReport(inconsistentMembers, teamIds, membersWithoutTeam);
+    }
+
+    /**
+     * 어긋난 팀마다 현재 팀 이름을 다시 전파하고, 전파 후의 검사 결과를 반환한다.
+     * (전파는 TeamRenameService 가 chunk 마다 별도 트랜잭션으로 커밋하므로 전체를 한 트랜잭션으로 묶지 않는다)
+     */
+    public TeamNameConsistencyReport repair() {
+        TeamNameConsistencyReport report = check();
+        for (Long teamId : report.getTeamIds()) {
+            teamRenameService.propagate(teamId);
+        }
+        if (report.getMembersWithoutTeam() > 0) {
+            teamRenameService.clearWithoutTeam();
+        }
+        return check();
+    }
+
+    @Scheduled(fixedDelayString = "${member.team-name-sync.check-interval-ms:3600000}",
+               initialDelayString = "${member.team-name-sync.check-interval-ms:3600000}")
+    public void scheduledCheck() {
+        TeamNameConsistencyReport report = check();
+        if (report.isConsistent()) {
+            return;
+        }
+        log.warn("member.teamName 불일치 : {}", report);
+        if (autoRepair) {
+            log.info("member.teamName 복구 결과 : {}", repair());
+        }
+    }
+
+    // 팀이 없는데 teamName 이 있거나, 팀이 있는데 teamName 이 팀 이름과 다른 회원 (한쪽만 null 인 경우 포함)
+    private BooleanExpression inconsistent() {
+        BooleanExpression nameDiffers = member.teamName.isNull().and(team.name.isNotNull())
+                                            .or(member.teamName.isNotNull().and(team.name.isNull()))
+                                            .or(member.teamName.ne(team.name));
+        return team.id.isNull().and(member.teamName.isNotNull())
+                .or(team.id.isNotNull().and(nameDiffers));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.querydsl.team;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * member.teamName 과 team.name 비교 결과
+ * - inconsistentMembers : 값이 다른 회원 수 (membersWithoutTeam 포함)
+ * - teamIds : 값이 다른 회원이 있는 팀
+ * - membersWithoutTeam : 팀이 없는데 teamName 이 남아 있는 회원 수
+ */
+@Value
+public class TeamNameConsistencyReport {
+    long inconsistentMembers;
+    List<Long> teamIds;
+    long membersWithoutTeam;
+
+    public boolean isConsistent() {
+        return inconsistentMembers == 0;
+    }
+}
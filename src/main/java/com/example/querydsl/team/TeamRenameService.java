@@ -0,0 +1,110 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.jfr.RecordingJPAQueryFactory;
+import com.example.querydsl.outbox.OutboxBulkOperations;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 팀 이름 변경과 member.teamName(역정규화 컬럼) 전파
+ * - 팀 이름은 먼저 커밋하고, 소속 회원은 MEMBER_ID 범위 chunkSize 단위 벌크 update 로 나눠서 갱신한다.
+ *   (한 트랜잭션으로 팀 전체를 갱신하면 대형 팀에서 잠금과 undo 가 길어진다)
+ * - chunk 마다 팀의 현재 이름을 서브쿼리로 읽어서 설정하므로, 전파 중에 이름이 다시 바뀌어도 예전 이름으로 덮어쓰지 않는다.
+ * - 벌크 update 는 OutboxBulkOperations 로 실행해서 chunk 마다 outbox 에 BULK_UPDATED 가 남는다.
+ */
+@Slf4j
+@Component
+public class TeamRenameService {
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final OutboxBulkOperations bulkOperations;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TeamRenameService(EntityManager em,
+                             OutboxBulkOperations bulkOperations,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${member.team-name-sync.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("member.team-name-sync.chunk-size 는 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.queryFactory = new RecordingJPAQueryFactory(em);
+        this.bulkOperations = bulkOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 팀 이름을 바꾸고 소속 회원에게 전파한다. 반환값은 teamName 을 갱신한 회원 수
+     */
+    public long rename(Long teamId, String newName) {
+        if (!StringUtils.hasText(newName)) {
+            throw new InvalidTeamRequestException("팀 이름이 비어 있습니다.");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Team findTeam = em.find(Team.class, teamId);
+            if (findTeam == null) {
+                throw new InvalidTeamRequestException("팀이 없습니다 : " + teamId);
+            }
+            findTeam.setName(newName);
+        });
+        return propagate(teamId);
+    }
+
+    /**
+     * 팀의 현재 이름을 소속 회원의 teamName 에 전파한다. (이미 같은 회원은 건너뛴다)
+     */
+    public long propagate(Long teamId) {
+        Tuple range = transactionTemplate.execute(status -> queryFactory
+                                                                .select(member.id.min(), member.id.max())
+                                                                .from(member)
+                                                                .where(member.team.id.eq(teamId))
+                                                                .fetchOne());
+        Long minId = range == null ? null : range.get(member.id.min());
+        Long maxId = range == null ? null : range.get(member.id.max());
+        if (minId == null) {
+            return 0;
+        }
+
+        JPQLQuery<String> currentName = JPAExpressions.select(team.name).from(team).where(team.id.eq(teamId));
+        long updated = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long to = Math.min(from + chunkSize - 1, maxId);
+            long chunkFrom = from;
+            updated += transactionTemplate.execute(status ->
+                    bulkOperations.update(member,
+                                          member.team.id.eq(teamId)
+                                                .and(member.id.between(chunkFrom, to))
+                                                .and(member.teamName.isNull().or(member.teamName.ne(currentName))),
+                                          clause -> clause.set(member.teamName, currentName)));
+        }
+        log.info("팀 이름 전파 완료 : teamId = {}, 갱신한 회원 수 = {}, chunkSize = {}", teamId, updated, chunkSize);
+        return updated;
+    }
+
+    /**
+     * 팀이 없는 회원의 teamName 을 비운다.
+     */
+    long clearWithoutTeam() {
+        Long updated = transactionTemplate.execute(status ->
+                bulkOperations.update(member,
+                                      member.team.isNull().and(member.teamName.isNotNull()),
+                                      clause -> clause.setNull(member.teamName)));
+        return updated == null ? 0 : updated;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.querydsl.analytics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+class MemberAggregationEngineTest {
+    MemberAggregationEngine engine = new MemberAggregationEngine();
+
+    @Test
+    @DisplayName("팀별_나이_집계_테스트")
+    void 팀별_나이_집계_테스트() {
+        // given : teamId 10 → 나이 10, 20, 30, 40 / teamId 3 → 나이 5, 125
+        MemberColumns columns = MemberColumns.builder(8)
+                .add(1, 10, 10)
+                .add(2, 10, 20)
+                .add(3, 3, 5)
+                .add(4, 10, 30)
+                .add(5, 10, 40)
+                .add(6, 3, 125)
+                .build();
+
+        // when
+        List<TeamAgeStats> stats = engine.aggregateByTeam(columns, 2);
+
+        // then : 팀 id 순서
+        Assertions.assertThat(stats).extracting(TeamAgeStats::getTeamId).containsExactly(3L, 10L);
+
+        TeamAgeStats team3 = stats.get(0);
+        Assertions.assertThat(team3.getCount()).isEqualTo(2);
+        Assertions.assertThat(team3.getAgeHistogram()[0]).isEqualTo(1);
+        Assertions.assertThat(team3.getAgeHistogram()[TeamAgeAccumulator.AGE_BUCKETS - 1]).isEqualTo(1);
+
+        TeamAgeStats team10 = stats.get(1);
+        Assertions.assertThat(team10.getCount()).isEqualTo(4);
+        Assertions.assertThat(team10.getAverageAge()).isEqualTo(25.0);
+        Assertions.assertThat(team10.getMinAge()).isEqualTo(10);
+        Assertions.assertThat(team10.getMaxAge()).isEqualTo(40);
+        Assertions.assertThat(team10.getOldest())
+                .containsExactly(new TeamAgeStats.MemberAge(5, 40), new TeamAgeStats.MemberAge(4, 30));
+    }
+
+    @Test
+    @DisplayName("fork/join_분할_결과_순차_계산과_동일")
+    void fork_join_분할_결과_순차_계산과_동일() {
+        // given : 여러 하위 작업으로 나뉘는 크기
+        int rows = MemberAggregationEngine.MIN_SEQUENTIAL_ROWS * 8 + 17;
+        SplittableRandom random = new SplittableRandom(7);
+        MemberColumns.Builder builder = MemberColumns.builder(rows);
+        long[] counts = new long[5];
+        long[] sums = new long[5];
+        int[] maxAges = new int[5];
+        for (int i = 0; i < rows; i++) {
+            int team = random.nextInt(5);
+            int age = random.nextInt(90);
+            builder.add(i, team + 100, age);
+            counts[team]++;
+            sums[team] += age;
+            maxAges[team] = Math.max(maxAges[team], age);
+        }
+
+        // when
+        List<TeamAgeStats> stats = engine.aggregateByTeam(builder.build(), 3);
+
+        // then
+        Assertions.assertThat(stats).hasSize(5);
+        for (int team = 0; team < 5; team++) {
+            TeamAgeStats teamStats = stats.get(team);
+            Assertions.assertThat(teamStats.getCount()).isEqualTo(counts[team]);
+            Assertions.assertThat(teamStats.getAverageAge()).isEqualTo((double) sums[team] / counts[team]);
+            Assertions.assertThat(teamStats.getOldest()).hasSize(3);
+            Assertions.assertThat(teamStats.getOldest().get(0).getAge()).isEqualTo(maxAges[team]);
+            Assertions.assertThat(teamStats.getOldest()).isSortedAccordingTo(
+                    (a, b) -> a.getAge() != b.getAge() ? Integer.compare(b.getAge(), a.getAge())
+                                                       : Long.compare(a.getMemberId(), b.getMemberId()));
+        }
+    }
+}
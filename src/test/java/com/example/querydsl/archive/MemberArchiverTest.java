@@ -0,0 +1,160 @@
+package com.example.querydsl.archive;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.CoalescingMemberSearchRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관 작업은 chunk 마다 커밋하므로 @Transactional(rollback) 을 사용하지 않고 직접 정리한다.
+ */
+@SpringBootTest(properties = {"member.archive.chunk-size=2", "member.archive.max-chunks-per-run=2"})
+class MemberArchiverTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberArchiver memberArchiver;
+
+    @Autowired
+    CoalescingMemberSearchRepository searchRepository;
+
+    @BeforeEach
+    void before() {
+        // 홀수 회원은 200일 전 마지막 활동 (보관 대상)
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 10; i++) {
+                Member member = new Member("member" + i, i, i % 2 == 0 ? teamA : teamB);
+                if (i % 2 == 1) {
+                    member.setLastActiveAt(LocalDateTime.now().minusDays(200));
+                }
+                em.persist(member);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from MemberArchive").executeUpdate();
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("비활성_회원_chunk_보관_테스트")
+    void 비활성_회원_chunk_보관_테스트() {
+        // when : chunk 2건 x 최대 2 chunk, 남은 1건은 다음 실행에서 처리
+        long first = memberArchiver.archiveInactive();
+        long second = memberArchiver.archiveInactive();
+        long third = memberArchiver.archiveInactive();
+
+        // then
+        Assertions.assertThat(first).isEqualTo(4);
+        Assertions.assertThat(second).isEqualTo(1);
+        Assertions.assertThat(third).isEqualTo(0);
+        Assertions.assertThat(count("select count(m) from Member m")).isEqualTo(5);
+        Assertions.assertThat(count("select count(a) from MemberArchive a")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("보관_회원_포함_검색_테스트")
+    void 보관_회원_포함_검색_테스트() {
+        // given
+        memberArchiver.archive(LocalDateTime.now().minusDays(180));
+        memberArchiver.archive(LocalDateTime.now().minusDays(180));
+
+        MemberSearchCondition hot = new MemberSearchCondition();
+        hot.setTeamName("teamB");
+        MemberSearchCondition all = new MemberSearchCondition();
+        all.setTeamName("teamB");
+        all.setIncludeArchived(true);
+
+        // when
+        List<MemberTeamDto> hotResult = searchRepository.searchWhereParameter(hot);
+        Page<MemberTeamDto> allResult = searchRepository.searchPaginationCountQueryOptimization(
+                                            all, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age")));
+
+        // then : 기본 검색은 member 만, includeArchived 는 member_archive 까지
+        Assertions.assertThat(hotResult).isEmpty();
+        Assertions.assertThat(allResult.getTotalElements()).isEqualTo(5);
+        Assertions.assertThat(allResult.getContent()).extracting("username", "teamName")
+                .containsExactly(
+                        Assertions.tuple("member9", "teamB"),
+                        Assertions.tuple("member7", "teamB"),
+                        Assertions.tuple("member5", "teamB"));
+    }
+
+    @Test
+    @DisplayName("회원_변경시_활동시각_갱신_테스트")
+    void 회원_변경시_활동시각_갱신_테스트() {
+        // given : 보관 대상(200일 전 활동)인 member1 의 나이를 바꾼다.
+        transactionTemplate.executeWithoutResult(status ->
+                em.createQuery("select m from Member m where m.username = 'member1'", Member.class)
+                        .getSingleResult()
+                        .setAge(20));
+
+        // when
+        long archived = memberArchiver.archive(LocalDateTime.now().minusDays(180));
+        archived += memberArchiver.archive(LocalDateTime.now().minusDays(180));
+
+        // then : 변경된 member1 은 남는다.
+        Assertions.assertThat(archived).isEqualTo(4);
+        Assertions.assertThat(count("select count(m) from Member m where m.username = 'member1'")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보관_회원_복원_테스트")
+    void 보관_회원_복원_테스트() {
+        // given
+        memberArchiver.archive(LocalDateTime.now().minusDays(180));
+        memberArchiver.archive(LocalDateTime.now().minusDays(180));
+        Long memberId = transactionTemplate.execute(status ->
+                em.createQuery("select a.id from MemberArchive a where a.username = 'member1'", Long.class).getSingleResult());
+
+        // when
+        boolean restored = memberArchiver.restore(memberId);
+        boolean restoredAgain = memberArchiver.restore(memberId);
+
+        // then : 같은 id, 현재 팀으로 돌아오고 팀 회원 수에도 반영된다.
+        Assertions.assertThat(restored).isTrue();
+        Assertions.assertThat(restoredAgain).isFalse();
+        Assertions.assertThat(count("select count(a) from MemberArchive a")).isEqualTo(4);
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = em.find(Member.class, memberId);
+            Assertions.assertThat(member.getUsername()).isEqualTo("member1");
+            Assertions.assertThat(member.getTeamName()).isEqualTo("teamB");
+            Assertions.assertThat(member.getTeam().getMemberCount()).isEqualTo(1);
+            Assertions.assertThat(member.getLastActiveAt()).isAfter(LocalDateTime.now().minusDays(1));
+        });
+    }
+
+    private long count(String jpql) {
+        return transactionTemplate.execute(status -> em.createQuery(jpql, Long.class).getSingleResult());
+    }
+}
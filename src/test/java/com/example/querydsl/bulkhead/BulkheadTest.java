@@ -0,0 +1,94 @@
+package com.example.querydsl.bulkhead;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("검색조건_비용_분류_테스트")
+    void 검색조건_비용_분류_테스트() {
+        MemberSearchCondition empty = new MemberSearchCondition();
+        Assertions.assertThat(QueryCost.classify(empty, null)).isEqualTo(QueryCost.HEAVY);
+        Assertions.assertThat(QueryCost.classify(empty, PageRequest.of(0, 20))).isEqualTo(QueryCost.MEDIUM);
+        Assertions.assertThat(QueryCost.classify(empty, PageRequest.of(0, 1000))).isEqualTo(QueryCost.HEAVY);
+
+        MemberSearchCondition byTeam = new MemberSearchCondition();
+        byTeam.setTeamName("teamA");
+        Assertions.assertThat(QueryCost.classify(byTeam, PageRequest.of(0, 20))).isEqualTo(QueryCost.LIGHT);
+
+        MemberSearchCondition byUsername = new MemberSearchCondition();
+        byUsername.setUsername("member1");
+        Assertions.assertThat(QueryCost.classify(byUsername, null)).isEqualTo(QueryCost.LIGHT);
+
+        // member_archive 까지 읽으면 한 등급 무겁게
+        byTeam.setIncludeArchived(true);
+        empty.setIncludeArchived(true);
+        Assertions.assertThat(QueryCost.classify(byTeam, PageRequest.of(0, 20))).isEqualTo(QueryCost.MEDIUM);
+        Assertions.assertThat(QueryCost.classify(empty, null)).isEqualTo(QueryCost.HEAVY);
+    }
+
+    @Test
+    @DisplayName("bulkhead_포화시_거절_테스트")
+    void bulkhead_포화시_거절_테스트() throws Exception {
+        // given : 동시 1개, 대기열 1개
+        Bulkhead bulkhead = new Bulkhead("test", new AdaptiveLimit(1, 1, 1, TimeUnit.SECONDS.toNanos(1)), 1, 50);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        executor.submit(() -> bulkhead.execute(() -> {
+            running.countDown();
+            await(finish);
+            return null;
+        }));
+        running.await();
+
+        // 대기열 자리 차지 (maxWait 50ms 후 503)
+        executor.submit(() -> bulkhead.execute(() -> null));
+        Thread.sleep(10);
+
+        // when & then : 대기열이 가득 찬 상태 → 429
+        Assertions.assertThatThrownBy(() -> bulkhead.execute(() -> null))
+                .isInstanceOf(BulkheadRejectedException.class)
+                .extracting("status").isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        finish.countDown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        Assertions.assertThat(bulkhead.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("adaptive_limit_AIMD_테스트")
+    void adaptive_limit_AIMD_테스트() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 8, TimeUnit.MILLISECONDS.toNanos(100));
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        Assertions.assertThat(limit.getLimit()).isEqualTo(8);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(500), false);
+        }
+        Assertions.assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.querydsl.config;
+
+import com.example.querydsl.archive.MemberArchiver;
+import com.example.querydsl.outbox.OutboxPoller;
+import com.example.querydsl.repository.MemberTestRepository;
+import com.example.querydsl.team.TeamMemberCounter;
+import com.example.querydsl.team.TeamNameConsistencyChecker;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+class SchedulingConfigTest {
+    @Autowired
+    ConfigurableApplicationContext context;
+
+    @Test
+    @DisplayName("lazy_initialization_에서도_Scheduled_빈_즉시_초기화_테스트")
+    void lazy_initialization_에서도_Scheduled_빈_즉시_초기화_테스트() {
+        // @Scheduled 메서드가 있는 빈은 만들어져 있고, 나머지 빈은 처음 사용할 때까지 만들지 않는다.
+        for (Class<?> scheduledType : new Class<?>[]{OutboxPoller.class, TeamMemberCounter.class,
+                                                     TeamNameConsistencyChecker.class, MemberArchiver.class}) {
+            String[] names = context.getBeanNamesForType(scheduledType, false, false);
+            Assertions.assertThat(names).hasSize(1);
+            Assertions.assertThat(context.getBeanFactory().containsSingleton(names[0])).as(scheduledType.getSimpleName()).isTrue();
+        }
+        Assertions.assertThat(context.getBeanFactory().containsSingleton("memberTestRepository")).isFalse();
+    }
+}
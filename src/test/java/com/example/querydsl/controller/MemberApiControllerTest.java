@@ -0,0 +1,70 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberApiControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("조건부_GET_ETag_304_테스트")
+    void 조건부_GET_ETag_304_테스트() throws Exception {
+        // given
+        String etag = mockMvc.perform(get("/api/v2/members").param("teamName", "teamA").param("size", "3"))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertThat(etag).isNotBlank().doesNotStartWith("W/");
+
+        // when & then : 같은 조건 → 304
+        mockMvc.perform(get("/api/v2/members").param("teamName", "teamA").param("size", "3")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // 다른 조건 → 200
+        mockMvc.perform(get("/api/v2/members").param("teamName", "teamB").param("size", "3")
+                                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        // 데이터 변경 커밋(outbox 기록) → 200
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long teamId = requiresNew.execute(status -> {
+            Team team = new Team("etagTeam");
+            em.persist(team);
+            return team.getId();
+        });
+        try {
+            mockMvc.perform(get("/api/v2/members").param("teamName", "teamA").param("size", "3")
+                                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+        } finally {
+            requiresNew.executeWithoutResult(status -> em.remove(em.find(Team.class, teamId)));
+        }
+    }
+}
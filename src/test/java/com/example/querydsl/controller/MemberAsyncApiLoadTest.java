@@ -0,0 +1,143 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 싼 요청(/test)과 비싼 요청(조건 없는 전체 조회)을 섞어서 보내고 요청 종류별 지연 시간 분포를 출력한다.
+ * - 동기(/api/v1/members) vs 비동기(/api/async/v1/members)
+ * - ./gradlew loadTest
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "server.tomcat.threads.max=20")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberAsyncApiLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(MemberAsyncApiLoadTest.class);
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    ExecutorService httpExecutor = Executors.newFixedThreadPool(CLIENTS);
+    HttpClient httpClient = HttpClient.newBuilder()
+                                    .executor(httpExecutor)
+                                    .build();
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < 5_000; i++) {
+                em.persist(new Member("member" + i, i % 100, i % 2 == 0 ? teamA : teamB));
+                if (i % 500 == 0) {
+                    em.flush();
+                    em.clear();
+                    teamA = em.find(Team.class, teamA.getId());
+                    teamB = em.find(Team.class, teamB.getId());
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @AfterAll
+    void shutdown() {
+        httpExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동기_vs_비동기_혼합부하_tail_latency_테스트")
+    void 동기_vs_비동기_혼합부하_tail_latency_테스트() throws Exception {
+        run("sync ", "/api/v1/members");
+        run("async", "/api/async/v1/members");
+    }
+
+    private void run(String label, String expensivePath) throws Exception {
+        List<Long> cheap = Collections.synchronizedList(new ArrayList<>());
+        List<Long> expensive = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> statuses = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            boolean expensiveClient = c % 4 == 0; // 1/4 은 비싼 요청
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    String path = expensiveClient ? expensivePath : "/test";
+                    long start = System.nanoTime();
+                    statuses.add(get(path));
+                    (expensiveClient ? expensive : cheap).add(System.nanoTime() - start);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        clients.shutdown();
+
+        log.info("[{}] cheap     {}", label, percentiles(cheap));
+        log.info("[{}] expensive {}", label, percentiles(expensive));
+        Assertions.assertThat(statuses).allMatch(status -> status == 200 || status == 429 || status == 503);
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String percentiles(List<Long> nanos) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return String.format("n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                                sorted.size(),
+                                millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0));
+    }
+
+    private static double millis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.querydsl.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+class MemberTeamPageTest {
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("MemberTeamPage_직렬화_테스트")
+    void MemberTeamPage_직렬화_테스트() throws Exception {
+        // given
+        List<MemberTeamDto> content = List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA", 3L),
+                new MemberTeamDto(2L, "member2", 20, null, null));
+        PageImpl<MemberTeamDto> page = new PageImpl<>(content, PageRequest.of(0, 2), 5);
+
+        // when
+        byte[] compact = objectMapper.writeValueAsBytes(MemberTeamPage.of(page));
+        byte[] reflective = objectMapper.writeValueAsBytes(page);
+
+        // then
+        JsonNode json = objectMapper.readTree(compact);
+        Assertions.assertThat(json.get("content")).hasSize(2);
+        Assertions.assertThat(json.get("content").get(0).get("username").asText()).isEqualTo("member1");
+        Assertions.assertThat(json.get("content").get(1).get("teamId").isNull()).isTrue();
+        Assertions.assertThat(json.get("content").get(0).get("teamMemberCount").asLong()).isEqualTo(3);
+        Assertions.assertThat(json.get("content").get(1).has("teamMemberCount")).isFalse();
+        Assertions.assertThat(json.get("page").asInt()).isEqualTo(0);
+        Assertions.assertThat(json.get("size").asInt()).isEqualTo(2);
+        Assertions.assertThat(json.get("totalElements").asLong()).isEqualTo(5);
+        Assertions.assertThat(json.get("totalPages").asInt()).isEqualTo(3);
+        Assertions.assertThat(json.get("hasNext").asBoolean()).isTrue();
+        Assertions.assertThat(json.has("pageable")).isFalse();
+
+        System.out.println("PageImpl = " + reflective.length + " bytes, MemberTeamPage = " + compact.length + " bytes");
+        Assertions.assertThat(compact.length).isLessThan(reflective.length);
+    }
+
+    @Test
+    @DisplayName("Slice_직렬화_테스트 - 전체 건수 생략")
+    void Slice_직렬화_테스트() throws Exception {
+        // given
+        List<MemberTeamDto> content = List.of(new MemberTeamDto(1L, "member1", 10, 1L, "teamA"));
+        SliceImpl<MemberTeamDto> slice = new SliceImpl<>(content, PageRequest.of(1, 1), true);
+
+        // when
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(MemberTeamPage.of(slice)));
+
+        // then
+        Assertions.assertThat(json.get("content")).hasSize(1);
+        Assertions.assertThat(json.get("page").asInt()).isEqualTo(1);
+        Assertions.assertThat(json.get("hasNext").asBoolean()).isTrue();
+        Assertions.assertThat(json.has("totalElements")).isFalse();
+        Assertions.assertThat(json.has("totalPages")).isFalse();
+    }
+}
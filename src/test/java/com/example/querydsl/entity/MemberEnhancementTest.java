@@ -0,0 +1,81 @@
+package com.example.querydsl.entity;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.proxy.HibernateProxy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+/**
+ * build.gradle 의 hibernate.enhance 가 적용된 엔티티인지 확인 (-PnoEnhance 빌드에서는 실패)
+ */
+@SpringBootTest
+@Transactional
+class MemberEnhancementTest {
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("엔티티_bytecode_enhancement_적용_테스트")
+    void 엔티티_bytecode_enhancement_적용_테스트() {
+        Assertions.assertThat(SelfDirtinessTracker.class).isAssignableFrom(Member.class);
+        Assertions.assertThat(PersistentAttributeInterceptable.class).isAssignableFrom(Member.class);
+        Assertions.assertThat(SelfDirtinessTracker.class).isAssignableFrom(Team.class);
+    }
+
+    @Test
+    @DisplayName("프록시_없는_지연로딩_테스트")
+    void 프록시_없는_지연로딩_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.flush();
+        em.clear();
+
+        // when
+        Member findMember = em.find(Member.class, member1.getId());
+        Team team = findMember.getTeam();
+
+        // then : 프록시 서브클래스가 아닌 Team, id 접근은 로딩하지 않음
+        Assertions.assertThat(team).isNotInstanceOf(HibernateProxy.class);
+        Assertions.assertThat(team.getClass()).isEqualTo(Team.class);
+        Assertions.assertThat(team.getId()).isEqualTo(teamA.getId());
+        Assertions.assertThat(Hibernate.isInitialized(team)).isFalse();
+
+        Assertions.assertThat(team.getName()).isEqualTo("teamA");
+        Assertions.assertThat(Hibernate.isInitialized(team)).isTrue();
+    }
+
+    @Test
+    @DisplayName("필드_단위_dirty_tracking_테스트")
+    void 필드_단위_dirty_tracking_테스트() {
+        // given
+        em.persist(new Member("member1", 10));
+        em.persist(new Member("member2", 20));
+        em.flush();
+        em.clear();
+
+        Member member1 = em.createQuery("select m from Member m where m.username = 'member1'", Member.class).getSingleResult();
+        Member member2 = em.createQuery("select m from Member m where m.username = 'member2'", Member.class).getSingleResult();
+
+        // when
+        member1.setAge(11);
+
+        // then : 변경한 필드만 dirty, 변경하지 않은 엔티티는 dirty 없음
+        Assertions.assertThat(((SelfDirtinessTracker) member1).$$_hibernate_getDirtyAttributes()).containsExactly("age");
+        Assertions.assertThat(((SelfDirtinessTracker) member2).$$_hibernate_hasDirtyAttributes()).isFalse();
+
+        em.flush();
+        em.clear();
+        Assertions.assertThat(em.find(Member.class, member1.getId()).getAge()).isEqualTo(11);
+    }
+}
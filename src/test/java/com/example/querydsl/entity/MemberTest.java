@@ -1,5 +1,6 @@
 package com.example.querydsl.entity;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,4 +52,58 @@ class MemberTest {
             System.out.println("-> member.team=" + member.getTeam());   // 지연로딩
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("changeTeam_team_members_지연로딩_유지_테스트")
+    void changeTeam_team_members_지연로딩_유지_테스트() {
+        // given
+        Team teamA = new Team("TeamA");
+        Team teamB = new Team("TeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+        em.clear();
+
+        // when : 회원이 로딩되지 않은 팀으로 이동
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Member findMember2 = em.find(Member.class, member2.getId());
+        findMember2.changeTeam(findTeamA);
+        em.flush();
+
+        // then : 연관관계 주인(FK)만 바뀌고 team.members 는 읽지 않는다.
+        assertFalse(Hibernate.isInitialized(findTeamA.getMembers()));
+        assertEquals("TeamA", findMember2.getTeamName());
+        em.clear();
+        assertEquals(2, em.find(Team.class, teamA.getId()).getMembers().size());
+    }
+
+    @Test
+    @DisplayName("changeTeam_로딩된_team_members_동기화_테스트")
+    void changeTeam_로딩된_team_members_동기화_테스트() {
+        // given
+        Team teamA = new Team("TeamA");
+        Team teamB = new Team("TeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.flush();
+        em.clear();
+
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Team findTeamB = em.find(Team.class, teamB.getId());
+        Member findMember1 = findTeamA.getMembers().get(0);     // teamA.members 로딩
+        assertEquals(0, findTeamB.getMembers().size());         // teamB.members 로딩
+
+        // when
+        findMember1.changeTeam(findTeamB);
+
+        // then : 이미 로딩된 컬렉션은 메모리에서도 이전 팀에서 빠지고 새 팀에 추가된다.
+        assertTrue(findTeamA.getMembers().isEmpty());
+        assertEquals(List.of(findMember1), findTeamB.getMembers());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.querydsl.ingest;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.outbox.ChangeType;
+import com.example.querydsl.outbox.OutboxEvent;
+import com.example.querydsl.outbox.OutboxEventRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * import 는 StatelessSession 의 별도 트랜잭션으로 커밋되므로 @Transactional(rollback) 을 사용하지 않고 직접 정리한다.
+ */
+@SpringBootTest(properties = {"member-import.batch-size=3", "member-import.commit-interval=4"})
+class MemberCsvImporterTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberCsvImporter csvImporter;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("CSV_import_팀_캐시_행_오류_테스트")
+    void CSV_import_팀_캐시_행_오류_테스트() throws Exception {
+        // given : teamA 는 이미 있고, teamB 는 import 중에 만든다.
+        Long teamAId = transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            return teamA.getId();
+        });
+        String csv = "username,age,teamName\n"
+                + "member1,10,teamA\n"
+                + "member2,20,teamB\n"
+                + "member3,abc,teamA\n"             // age 오류
+                + "\"kim, jr\",30,teamB\n"          // 따옴표 안의 콤마
+                + ",40,teamA\n"                     // username 없음
+                + "member5,50\n"                    // 팀 없음
+                + "member6,60,teamA,extra\n"        // 컬럼 수 오류
+                + "\n"
+                + "member7,70,teamB\n"
+                + "member8,80,teamA\n";
+
+        // when
+        MemberImportResult result = csvImporter.importCsv(new StringReader(csv), "test");
+
+        // then
+        Assertions.assertThat(result.getProcessedRows()).isEqualTo(9);
+        Assertions.assertThat(result.getImportedRows()).isEqualTo(6);
+        Assertions.assertThat(result.getFailedRows()).isEqualTo(3);
+        Assertions.assertThat(result.getCreatedTeams()).isEqualTo(1);
+        Assertions.assertThat(result.getErrors()).extracting(MemberImportResult.RowError::getLine)
+                .containsExactly(4L, 6L, 8L);
+
+        List<Member> members = transactionTemplate.execute(status ->
+                em.createQuery("select m from Member m left join fetch m.team order by m.age", Member.class)
+                  .getResultList());
+        Assertions.assertThat(members).extracting(Member::getUsername)
+                .containsExactly("member1", "member2", "kim, jr", "member5", "member7", "member8");
+        Assertions.assertThat(members.get(0).getTeam().getId()).isEqualTo(teamAId);
+        Assertions.assertThat(members.get(3).getTeam()).isNull();
+        Assertions.assertThat(members).filteredOn(m -> m.getTeam() != null)
+                .extracting(m -> m.getTeam().getName())
+                .containsExactly("teamA", "teamB", "teamB", "teamB", "teamA");
+
+        // 엔티티 리스너 대신 커밋 단위(4행)마다 벌크 이벤트 한 건 (teamA 생성 이벤트 포함 3건)
+        Assertions.assertThat(outboxEventRepository.findAll(Sort.by("id")))
+                .extracting(OutboxEvent::getAggregateType, OutboxEvent::getChangeType)
+                .containsExactly(
+                        Assertions.tuple("Team", ChangeType.CREATED),
+                        Assertions.tuple("Member", ChangeType.BULK_CREATED),
+                        Assertions.tuple("Member", ChangeType.BULK_CREATED));
+        Assertions.assertThat(result.getStatus()).isEqualTo(MemberImportResult.Status.COMPLETED);
+        Assertions.assertThat(result.getCommittedChunks()).isEqualTo(2);
+        Assertions.assertThat(result.getCommittedLine()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("CSV_import_DB_오류_중단_커밋된_chunk_결과_테스트")
+    void CSV_import_DB_오류_중단_커밋된_chunk_결과_테스트() throws Exception {
+        // given : 두 번째 커밋 단위에 컬럼 길이를 넘는 username (DB 오류)
+        String csv = "member1,10,teamA\n"
+                + "member2,20,teamA\n"
+                + "member3,30,teamA\n"
+                + "member4,40,teamA\n"
+                + "member5,50,teamA\n"
+                + "x".repeat(300) + ",60,teamB\n"
+                + "member7,70,teamA\n";
+
+        // when : 예외 대신 실패 상태의 결과
+        MemberImportResult result = csvImporter.importCsv(new StringReader(csv), "test");
+
+        // then : 첫 번째 커밋 단위만 반영되고, 그 이벤트는 남는다. (두 번째 단위에서 만든 teamB 는 롤백)
+        Assertions.assertThat(result.getStatus()).isEqualTo(MemberImportResult.Status.FAILED);
+        Assertions.assertThat(result.getFailureMessage()).isNotBlank();
+        Assertions.assertThat(result.getImportedRows()).isEqualTo(4);
+        Assertions.assertThat(result.getCommittedChunks()).isEqualTo(1);
+        Assertions.assertThat(result.getCommittedLine()).isEqualTo(4);
+        Assertions.assertThat(result.getCreatedTeams()).isEqualTo(1);
+
+        List<String> usernames = transactionTemplate.execute(status ->
+                em.createQuery("select m.username from Member m order by m.age", String.class).getResultList());
+        Assertions.assertThat(usernames).containsExactly("member1", "member2", "member3", "member4");
+        List<String> teamNames = transactionTemplate.execute(status ->
+                em.createQuery("select t.name from Team t", String.class).getResultList());
+        Assertions.assertThat(teamNames).containsExactly("teamA");
+        Assertions.assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getAggregateType, OutboxEvent::getChangeType)
+                .containsExactly(Assertions.tuple("Member", ChangeType.BULK_CREATED));
+    }
+
+    @Test
+    @DisplayName("CSV_라인_파서_따옴표_테스트")
+    void CSV_라인_파서_따옴표_테스트() {
+        Assertions.assertThat(CsvLineParser.split("a, \"b,c\" ,\"d\"\"e\""))
+                .containsExactly("a", "b,c", "d\"e");
+        Assertions.assertThatThrownBy(() -> CsvLineParser.split("a,\"b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
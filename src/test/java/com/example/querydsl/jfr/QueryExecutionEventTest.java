@@ -0,0 +1,124 @@
+package com.example.querydsl.jfr;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.repository.MemberRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class QueryExecutionEventTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("repository_쿼리_JFR_이벤트_기록_테스트")
+    void repository_쿼리_JFR_이벤트_기록_테스트() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+
+        // when
+        List<RecordedEvent> events = record(() -> memberJpaRepository.searchWhereParameter(condition));
+
+        // then
+        Assertions.assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        Assertions.assertThat(event.getString("repositoryMethod")).isEqualTo("MemberJpaRepository.searchWhereParameter");
+        Assertions.assertThat(event.getString("predicateShape")).isEqualTo("member1.age >= ?1");
+        Assertions.assertThat(event.getLong("rowCount")).isEqualTo(1);
+        Assertions.assertThat(event.getLong("executeNanos")).isPositive();
+    }
+
+    @Test
+    @DisplayName("JPQL_문자열_QuerydslRepositorySupport_stream_쿼리_JFR_이벤트_기록_테스트")
+    void JPQL_문자열_QuerydslRepositorySupport_stream_쿼리_JFR_이벤트_기록_테스트() throws Exception {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+
+        // when : em.createQuery, QuerydslRepositorySupport.from(...), stream()
+        List<RecordedEvent> events = record(() -> {
+            memberJpaRepository.findByUsername("member1");
+            memberRepository.searchWhereParameter2(condition);
+            try (Stream<Member> members = new RecordingJPAQueryFactory(em).selectFrom(member).stream()) {
+                members.forEach(findMember -> { });
+            }
+        });
+
+        // then
+        Assertions.assertThat(events).extracting(event -> event.getString("repositoryMethod"))
+                .startsWith("MemberJpaRepository.findByUsername", "MemberCustom2RepositoryImpl.searchWhereParameter2");
+        Assertions.assertThat(events).extracting(event -> event.getString("predicateShape"))
+                .containsExactly("m.username = :username", "member1.age >= ?1", "");
+        Assertions.assertThat(events).extracting(event -> event.getLong("rowCount"))
+                .containsExactly(1L, 1L, 2L);
+    }
+
+    private List<RecordedEvent> record(Runnable queries) throws Exception {
+        Path file = Files.createTempFile("querydsl", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(QueryExecutionEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            queries.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(QueryExecutionEvent.NAME))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .collect(Collectors.toList());
+        Files.deleteIfExists(file);
+        return events;
+    }
+
+    @Test
+    @DisplayName("where_절_추출_테스트")
+    void where_절_추출_테스트() {
+        String jpql = "select member1\nfrom Member member1\nwhere member1.username = ?1 and member1.age >= ?2\norder by member1.id asc";
+        Assertions.assertThat(QueryEvents.predicateShape(jpql)).isEqualTo("member1.username = ?1 and member1.age >= ?2");
+        Assertions.assertThat(QueryEvents.predicateShape("select member1\nfrom Member member1")).isEmpty();
+        Assertions.assertThat(QueryEvents.predicateShape("select m from Member m where m.age >= :age order by m.id"))
+                .isEqualTo("m.age >= :age");
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.querydsl.outbox;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * outbox 는 커밋 시점에 기록되므로 @Transactional(rollback) 을 사용하지 않고 직접 커밋 후 정리한다.
+ */
+@SpringBootTest
+class OutboxTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    OutboxBulkOperations bulkOperations;
+
+    @Autowired
+    OutboxPoller outboxPoller;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    DataVersion dataVersion;
+
+    // 다른 테스트가 커밋한 outbox 행이 남아 있을 수 있으므로 전후로 정리한다.
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("outbox_persist_changeTeam_벌크연산_기록_테스트")
+    void outbox_persist_changeTeam_벌크연산_기록_테스트() {
+        // given
+        Long memberId = transactionTemplate.execute(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            return member1.getId();
+        });
+
+        // when : dirty checking(changeTeam) 과 벌크 연산
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamB = new Team("teamB");
+            em.persist(teamB);
+            em.find(Member.class, memberId).changeTeam(teamB);
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                bulkOperations.update(member, member.age.lt(28), clause -> clause.set(member.age, member.age.add(1))));
+
+        // then
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        Assertions.assertThat(events)
+                .extracting("aggregateType", "changeType")
+                .containsExactly(
+                        Assertions.tuple("Team", ChangeType.CREATED),
+                        Assertions.tuple("Member", ChangeType.CREATED),
+                        Assertions.tuple("Team", ChangeType.CREATED),
+                        Assertions.tuple("Member", ChangeType.UPDATED),
+                        Assertions.tuple("Member", ChangeType.BULK_UPDATED));
+
+        // 벌크 이벤트에는 바뀐 회원 id 가 담긴다.
+        OutboxEvent bulkUpdated = events.get(events.size() - 1);
+        Assertions.assertThat(bulkUpdated.getAggregateId()).isEqualTo(memberId);
+        Assertions.assertThat(bulkUpdated.getPayload()).contains("\"ids\":[" + memberId + "]");
+    }
+
+    @Test
+    @DisplayName("outbox_벌크연산_id_목록_나눠서_기록_테스트")
+    void outbox_벌크연산_id_목록_나눠서_기록_테스트() {
+        // given : 이벤트 하나에 담는 id 수(50)보다 많은 회원
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 120; i++) {
+                em.persist(new Member("member" + i, i));
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from OutboxEvent").executeUpdate());
+
+        // when
+        Long deleted = transactionTemplate.execute(status -> bulkOperations.delete(member, member.age.goe(10)));
+
+        // then : 110명 → 50, 50, 10 으로 나눠서 기록
+        List<OutboxEvent> events = outboxEventRepository.findAll(Sort.by("id"));
+        Assertions.assertThat(deleted).isEqualTo(110);
+        Assertions.assertThat(events).extracting("changeType").containsOnly(ChangeType.BULK_DELETED);
+        Assertions.assertThat(events).extracting(OutboxEvent::getPayload)
+                .allSatisfy(payload -> Assertions.assertThat(payload).contains("\"ids\":["))
+                .satisfiesExactly(
+                        payload -> Assertions.assertThat(payload).startsWith("{\"affected\":50,"),
+                        payload -> Assertions.assertThat(payload).startsWith("{\"affected\":50,"),
+                        payload -> Assertions.assertThat(payload).startsWith("{\"affected\":10,"));
+    }
+
+    @Test
+    @DisplayName("outbox_롤백시_기록되지_않음_테스트")
+    void outbox_롤백시_기록되지_않음_테스트() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Team("teamA"));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("DataVersion_커밋시_변경_롤백시_유지_테스트")
+    void DataVersion_커밋시_변경_롤백시_유지_테스트() {
+        String before = dataVersion.current();
+
+        // 롤백된 쓰기 → 그대로
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Team("teamA"));
+            em.flush();
+            status.setRollbackOnly();
+        });
+        Assertions.assertThat(dataVersion.current()).isEqualTo(before);
+
+        // 커밋된 쓰기(다른 인스턴스의 쓰기도 같은 outbox 에 남는다) → 변경
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Team("teamB")));
+        String afterCommit = dataVersion.current();
+        Assertions.assertThat(afterCommit).isNotEqualTo(before);
+
+        // 벌크 연산 → 변경
+        transactionTemplate.executeWithoutResult(status ->
+                bulkOperations.update(team, team.name.eq("teamB"), clause -> clause.set(team.name, "teamC")));
+        String afterBulk = dataVersion.current();
+        Assertions.assertThat(afterBulk).isNotEqualTo(afterCommit);
+
+        // outbox 행을 정리해도 버전은 뒤로 가지 않는다. (data_version 카운터)
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from OutboxEvent").executeUpdate());
+        dataVersion.invalidate();
+        Assertions.assertThat(dataVersion.current()).isEqualTo(afterBulk);
+    }
+
+    @Test
+    @DisplayName("outbox_poller_version_부여_이어읽기_테스트")
+    void outbox_poller_version_부여_이어읽기_테스트() {
+        // given
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 5; i++) {
+                em.persist(new Team("team" + i));
+            }
+        });
+
+        // when
+        outboxPoller.poll();
+
+        // then
+        Long lastVersion = outboxEventRepository.findMaxVersion();
+        List<ChangeEvent> all = changeFeed.readFrom(lastVersion - 5, 100);
+        Assertions.assertThat(all).hasSize(5);
+        Assertions.assertThat(all).extracting("version")
+                .containsExactly(lastVersion - 4, lastVersion - 3, lastVersion - 2, lastVersion - 1, lastVersion);
+
+        // 재시작 후 중간 version 부터 이어 읽기
+        List<ChangeEvent> resumed = changeFeed.readFrom(lastVersion - 2, 100);
+        Assertions.assertThat(resumed).extracting("version").containsExactly(lastVersion - 1, lastVersion);
+    }
+
+    @Test
+    @DisplayName("outbox_poller_다른_인스턴스_version_이어받기_테스트")
+    void outbox_poller_다른_인스턴스_version_이어받기_테스트() {
+        // given : 다른 인스턴스가 version 100 까지 부여하고 커밋한 상태
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Team("teamA")));
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.findAll().forEach(event -> event.publish(100)));
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Team("teamB")));
+
+        // when
+        outboxPoller.poll();
+
+        // then : 이 인스턴스가 기억한 번호가 아니라 커밋된 max(version) 다음부터 부여한다.
+        Assertions.assertThat(changeFeed.readFrom(100L, 10)).extracting("version").containsExactly(101L);
+    }
+}
@@ -12,6 +12,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @SpringBootTest
@@ -122,4 +125,46 @@ class MemberJpaRepositoryTest {
         Assertions.assertThat(result).extracting("username").containsExactly("member4");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("여러 id 조회 - 입력 순서 유지, 없는 id 제외, 영속성 컨텍스트 + in 절 청크 조회")
+    void 여러_id_조회_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Member member = new Member("member" + i, i, teamA);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Member loaded = em.find(Member.class, ids.get(5)); // 영속성 컨텍스트에 있는 엔티티는 그대로 사용
+
+        List<Long> requestIds = new ArrayList<>(ids);
+        Collections.reverse(requestIds);
+        requestIds.add(-1L);
+        requestIds.add(ids.get(5));
+
+        // when
+        List<Member> result = memberJpaRepository.findAllByIds(requestIds);
+
+        // then
+        Assertions.assertThat(result).hasSize(301);
+        Assertions.assertThat(result.get(0).getId()).isEqualTo(ids.get(299));
+        Assertions.assertThat(result.get(299).getId()).isEqualTo(ids.get(0));
+        Assertions.assertThat(result.get(300)).isSameAs(loaded);
+        Assertions.assertThat(result.get(0).getTeam().getName()).isEqualTo("teamA");
+    }
+
+    @Test
+    @DisplayName("in 절 파라미터 수를 2의 거듭제곱으로 맞춘다")
+    void in_절_파라미터_패딩_테스트() {
+        Assertions.assertThat(MemberJpaRepository.padToPowerOfTwo(Arrays.asList(1L))).containsExactly(1L);
+        Assertions.assertThat(MemberJpaRepository.padToPowerOfTwo(Arrays.asList(1L, 2L, 3L))).containsExactly(1L, 2L, 3L, 3L);
+        Assertions.assertThat(MemberJpaRepository.padToPowerOfTwo(Arrays.asList(1L, 2L, 3L, 4L, 5L))).hasSize(8);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberAgeSummary;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파티션은 dbExecutor 스레드의 별도 트랜잭션에서 조회하므로 데이터를 커밋한 뒤 조회하고, 테스트가 끝나면 정리한다.
+ * export 가 여러 구간으로 나뉘도록 구간 폭을 작게 둔다.
+ */
+@SpringBootTest(properties = {"member.analytics.export-chunk-ids=7", "member.analytics.max-scan-rows=30"})
+class MemberPartitionedSearchRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberPartitionedSearchRepository partitionedSearchRepository;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 50; i++) {
+                em.persist(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("파티션_병렬_export_테스트 - id 순서 유지")
+    void 파티션_병렬_export_테스트() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        // when
+        List<MemberTeamDto> result = partitionedSearchRepository.export(condition, 4);
+
+        // then
+        Assertions.assertThat(result).hasSize(25);
+        Assertions.assertThat(result).extracting(MemberTeamDto::getMemberId).isSorted();
+        Assertions.assertThat(result).allMatch(dto -> dto.getTeamName().equals("teamA"));
+    }
+
+    @Test
+    @DisplayName("export_구간별_스트리밍_테스트 - 구간 순서대로 전달")
+    void export_구간별_스트리밍_테스트() {
+        // given
+        List<List<MemberTeamDto>> chunks = new ArrayList<>();
+
+        // when
+        long exported = partitionedSearchRepository.export(new MemberSearchCondition(), 2, chunks::add);
+
+        // then : 50명을 id 7개 폭 구간으로 나눠서 순서대로 전달
+        Assertions.assertThat(exported).isEqualTo(50);
+        Assertions.assertThat(chunks).hasSizeGreaterThan(1).allMatch(chunk -> chunk.size() <= 7);
+        Assertions.assertThat(chunks.stream().flatMap(List::stream).map(MemberTeamDto::getMemberId))
+                .hasSize(50)
+                .isSorted();
+    }
+
+    @Test
+    @DisplayName("컬럼_스캔_최대_행수_초과_거절_테스트")
+    void 컬럼_스캔_최대_행수_초과_거절_테스트() {
+        MemberSearchCondition small = new MemberSearchCondition();
+        small.setAgeGoe(21);
+
+        Assertions.assertThat(partitionedSearchRepository.scanColumns(small, 2).size()).isEqualTo(30);
+        Assertions.assertThatThrownBy(() -> partitionedSearchRepository.scanColumns(new MemberSearchCondition(), 2))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    @DisplayName("파티션_병렬_집계_테스트 - 부분 집계 합치기")
+    void 파티션_병렬_집계_테스트() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(11);
+
+        // when
+        MemberAgeSummary summary = partitionedSearchRepository.ageSummary(condition, 4);
+        Long count = partitionedSearchRepository.aggregate(condition, 3, 0L, rows -> (long) rows.size(), Long::sum);
+
+        // then
+        Assertions.assertThat(summary.getCount()).isEqualTo(40);
+        Assertions.assertThat(summary.getSum()).isEqualTo((11 + 50) * 40 / 2);
+        Assertions.assertThat(summary.getMin()).isEqualTo(11);
+        Assertions.assertThat(summary.getMax()).isEqualTo(50);
+        Assertions.assertThat(count).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("파티션_병렬_집계_테스트 - 조건에 맞는 회원이 없으면 빈 집계")
+    void 파티션_병렬_집계_빈_결과_테스트() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(1_000);
+
+        // when
+        MemberAgeSummary summary = partitionedSearchRepository.ageSummary(condition, 4);
+        Long count = partitionedSearchRepository.aggregate(condition, 3, 0L, rows -> (long) rows.size(), Long::sum);
+
+        // then
+        Assertions.assertThat(summary.getCount()).isZero();
+        Assertions.assertThat(summary.getAverage()).isNull();
+        Assertions.assertThat(count).isZero();
+    }
+}
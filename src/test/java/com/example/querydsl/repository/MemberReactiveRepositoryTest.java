@@ -0,0 +1,113 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC 는 별도 커넥션을 사용하므로 데이터를 커밋한 뒤 조회하고, 테스트가 끝나면 정리한다.
+ */
+@SpringBootTest
+class MemberReactiveRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("R2DBC_동적쿼리_JPA_결과_비교_테스트")
+    void R2DBC_동적쿼리_JPA_결과_비교_테스트() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        condition.setTeamName("teamB");
+
+        // when
+        List<MemberTeamDto> reactive = memberReactiveRepository.searchWhereParameter(condition).collectList().block();
+        List<MemberTeamDto> jpa = memberRepository.searchWhereParameter(condition);
+
+        // then
+        Assertions.assertThat(reactive).extracting("username").containsExactlyInAnyOrder("member3", "member4");
+        Assertions.assertThat(reactive).containsExactlyInAnyOrderElementsOf(jpa);
+    }
+
+    @Test
+    @DisplayName("R2DBC_페이징_테스트")
+    void R2DBC_페이징_테스트() {
+        List<MemberTeamDto> result = memberReactiveRepository
+                                        .searchPagination(new MemberSearchCondition(), PageRequest.of(0, 3))
+                                        .collectList()
+                                        .block();
+
+        Assertions.assertThat(result).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("R2DBC_정렬_whitelist_JPA_순서_비교_테스트")
+    void R2DBC_정렬_whitelist_JPA_순서_비교_테스트() {
+        // given : 같은 팀 이름이 여러 행이므로 tie-breaker(member_id) 로 순서가 정해진다.
+        PageRequest pageable = PageRequest.of(0, 3, Sort.by(Sort.Order.desc("teamName")));
+
+        // when
+        List<MemberTeamDto> reactive = memberReactiveRepository.searchPagination(new MemberSearchCondition(), pageable)
+                                                                .collectList()
+                                                                .block();
+        List<MemberTeamDto> jpa = memberRepository.searchPaginationSimple(new MemberSearchCondition(), pageable).getContent();
+
+        // then
+        Assertions.assertThat(reactive).extracting("username").containsExactly("member3", "member4", "member1");
+        Assertions.assertThat(reactive).extracting("username")
+                .containsExactlyElementsOf(jpa.stream().map(MemberTeamDto::getUsername).collect(Collectors.toList()));
+
+        // 허용되지 않은 정렬 key 는 거절
+        Assertions.assertThatThrownBy(() -> memberReactiveRepository
+                        .searchPagination(new MemberSearchCondition(), PageRequest.of(0, 3, Sort.by("password"))))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+}
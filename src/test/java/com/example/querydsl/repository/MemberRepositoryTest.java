@@ -1,10 +1,14 @@
 package com.example.querydsl.repository;
 
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberFieldRows;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
 import com.example.querydsl.entity.Member;
 import com.example.querydsl.entity.QMember;
 import com.example.querydsl.entity.Team;
+import com.querydsl.core.Tuple;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
@@ -192,5 +197,68 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    @DisplayName("Spring_Data_JPA_repository_Querydsl_필드선택_조회_테스트")
+    void Spring_Data_JPA_repository_Querydsl_필드선택_조회_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
 
-}
\ No newline at end of file
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("noTeam", 50));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        // when : team 필드 없음 → team 조인 생략
+        MemberFieldRows rows = memberRepository.searchFields(condition, MemberField.parse("memberId,username"));
+
+        // then : 팀이 없는 회원은 inner join 과 같게 제외
+        Assertions.assertThat(rows.getRows())
+                .extracting(row -> row.get(member.username))
+                .containsExactlyInAnyOrder("member2", "member3", "member4");
+
+        // when : teamName 필드 포함 + 페이징
+        Page<Tuple> page = memberRepository.searchFieldsPage(condition, MemberField.parse("username,teamName"), PageRequest.of(0, 2));
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(page.getContent()).hasSize(2);
+        // 역정규화(기본값) 사용 시 teamName 은 member.teamName 으로 조회된다. (team 조인 없음)
+        Assertions.assertThat(page.getContent())
+                .extracting(row -> row.get(1, String.class))
+                .doesNotContainNull();
+    }
+
+    @Test
+    @DisplayName("필드선택_지원하지_않는_필드_테스트")
+    void 필드선택_지원하지_않는_필드_테스트() {
+        Assertions.assertThatThrownBy(() -> MemberField.parse("memberId,password"))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Spring_Data_JPA_repository_Querydsl_Slice_테스트")
+    void Spring_Data_JPA_repository_Querydsl_Slice_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 5; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // when & then : 카운트 쿼리 없이 pageSize + 1 건으로 다음 페이지 판단
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        Assertions.assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        Assertions.assertThat(first.hasNext()).isTrue();
+
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+        Assertions.assertThat(last.getContent()).extracting("username").containsExactly("member4", "member5");
+        Assertions.assertThat(last.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.dto.MemberField;
+import com.example.querydsl.dto.MemberRankDto;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * querydsl-sql 구현은 JPA 구현(MemberCustomRepositoryImpl)과 같은 결과를 내야 한다.
+ * - 같은 트랜잭션의 JDBC 커넥션을 쓰므로 flush 한 데이터를 그대로 조회한다.
+ */
+@SpringBootTest
+@Transactional
+class MemberSqlRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 1; i <= 20; i++) {
+            em.persist(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+        }
+        em.persist(new Member("noTeam", 5));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("querydsl_sql_동적쿼리_JPA_결과_비교_테스트")
+    void querydsl_sql_동적쿼리_JPA_결과_비교_테스트() {
+        // given
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(5);
+        condition.setAgeLoe(15);
+        condition.setTeamName("teamA");
+
+        // when
+        List<MemberTeamDto> result = memberSqlRepository.searchWhereParameter(condition);
+
+        // then
+        Assertions.assertThat(result).extracting("username")
+                .containsExactlyInAnyOrder("member6", "member8", "member10", "member12", "member14");
+        Assertions.assertThat(result)
+                .containsExactlyInAnyOrderElementsOf(memberRepository.searchWhereParameter(condition));
+    }
+
+    @Test
+    @DisplayName("querydsl_sql_페이징_정렬_카운트_테스트")
+    void querydsl_sql_페이징_정렬_카운트_테스트() {
+        // given : 팀 없는 회원은 inner join 과 같이 제외
+        MemberSearchCondition condition = new MemberSearchCondition();
+        PageRequest pageRequest = PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "age"));
+
+        // when
+        Page<MemberTeamDto> result = memberSqlRepository.searchPaginationCountQueryOptimization(condition, pageRequest);
+        Page<MemberTeamDto> jpaResult = memberRepository.searchPaginationCountQueryOptimization(condition, pageRequest);
+
+        // then
+        Assertions.assertThat(result.getTotalElements()).isEqualTo(20);
+        Assertions.assertThat(result.getContent()).extracting("age").containsExactly(17, 16, 15);
+        Assertions.assertThat(result.getContent()).isEqualTo(jpaResult.getContent());
+    }
+
+    @Test
+    @DisplayName("querydsl_sql_Slice_테스트")
+    void querydsl_sql_Slice_테스트() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        Slice<MemberTeamDto> first = memberSqlRepository.searchSlice(condition, PageRequest.of(0, 8, Sort.by("age")));
+        Slice<MemberTeamDto> last = memberSqlRepository.searchSlice(condition, PageRequest.of(1, 8, Sort.by("age")));
+
+        Assertions.assertThat(first.hasNext()).isTrue();
+        Assertions.assertThat(first.getContent()).hasSize(8);
+        Assertions.assertThat(last.hasNext()).isFalse();
+        Assertions.assertThat(last.getContent()).extracting("age").containsExactly(17, 19);
+    }
+
+    @Test
+    @DisplayName("window_function_팀별_topN_순위_테스트")
+    void window_function_팀별_topN_순위_테스트() {
+        // given : teamA 에 member20 과 나이가 같은 회원 추가 (rank 동점)
+        Team teamA = em.createQuery("select t from Team t where t.name = 'teamA'", Team.class).getSingleResult();
+        em.persist(new Member("member20b", 20, teamA));
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(19);
+
+        // when
+        List<MemberRankDto> top2 = memberSqlRepository.searchTeamRank(condition, 2);
+        List<MemberRankDto> all = memberSqlRepository.searchTeamRank(new MemberSearchCondition(), null);
+
+        // then : 조건(ageLoe) 적용 후 팀마다 나이 많은 2명
+        Assertions.assertThat(top2).extracting("teamName", "username", "rowNumber", "rank")
+                .containsExactly(
+                        Assertions.tuple("teamA", "member18", 1L, 1L),
+                        Assertions.tuple("teamA", "member16", 2L, 2L),
+                        Assertions.tuple("teamB", "member19", 1L, 1L),
+                        Assertions.tuple("teamB", "member17", 2L, 2L));
+
+        // topN 이 없으면 팀이 있는 전체 회원, 동점은 같은 rank
+        Assertions.assertThat(all).hasSize(21);
+        Assertions.assertThat(all.subList(0, 3)).extracting("username", "rowNumber", "rank")
+                .containsExactly(
+                        Assertions.tuple("member20", 1L, 1L),
+                        Assertions.tuple("member20b", 2L, 1L),
+                        Assertions.tuple("member18", 3L, 3L));
+        Assertions.assertThatThrownBy(() -> memberSqlRepository.searchTeamRank(condition, 0))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    @DisplayName("보관_회원_union_검색_테스트")
+    void 보관_회원_union_검색_테스트() {
+        // given : member1 ~ member4 를 member_archive 로 이동
+        em.createNativeQuery("insert into member_archive (member_id, username, age, team_id, team_name, last_active_at, archived_at)"
+                            + " select member_id, username, age, team_id, team_name, last_active_at, current_timestamp"
+                            + " from member where age <= 4")
+                .executeUpdate();
+        em.createQuery("delete from Member m where m.age <= 4").executeUpdate();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(6);
+        condition.setIncludeArchived(true);
+
+        // when
+        List<MemberTeamDto> hot = memberSqlRepository.searchWhereParameter(withoutArchive(condition));
+        Page<MemberTeamDto> all = memberSqlRepository.searchPaginationSimple(condition, PageRequest.of(0, 4, Sort.by("age")));
+        List<MemberRankDto> rank = memberSqlRepository.searchTeamRank(condition, 1);
+
+        // then
+        Assertions.assertThat(hot).extracting("username").containsExactlyInAnyOrder("member5", "member6");
+        Assertions.assertThat(all.getTotalElements()).isEqualTo(6);
+        Assertions.assertThat(all.getContent()).extracting("username", "teamName")
+                .containsExactly(
+                        Assertions.tuple("member1", "teamB"),
+                        Assertions.tuple("member2", "teamA"),
+                        Assertions.tuple("member3", "teamB"),
+                        Assertions.tuple("member4", "teamA"));
+        Assertions.assertThat(rank).extracting("username").containsExactly("member6", "member5");
+        Assertions.assertThatThrownBy(() -> memberSqlRepository.searchFields(condition, MemberField.parse("username")))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    private MemberSearchCondition withoutArchive(MemberSearchCondition condition) {
+        MemberSearchCondition copy = new MemberSearchCondition();
+        copy.setAgeLoe(condition.getAgeLoe());
+        return copy;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class MemberTestRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTestRepository memberTestRepository;
+
+    @Test
+    @DisplayName("2단계 페이징 - id 페이징 후 fetch join 조회, 정렬 순서 유지")
+    void searchPageByIds_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 1; i <= 10; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(30);
+
+        // when
+        Page<Member> result = memberTestRepository.searchPageByIds(condition,
+                PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "age")));
+
+        // then
+        Assertions.assertThat(result.getTotalElements()).isEqualTo(8);
+        Assertions.assertThat(result.getContent()).extracting("age").containsExactly(70, 60, 50);
+        Assertions.assertThat(result.getContent())
+                .allMatch(member -> Hibernate.isInitialized(member.getTeam()));
+    }
+}
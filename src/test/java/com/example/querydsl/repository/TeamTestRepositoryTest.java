@@ -0,0 +1,74 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class TeamTestRepositoryTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamTestRepository teamTestRepository;
+
+    @Test
+    @DisplayName("2단계 페이징 - 컬렉션(team.members) fetch join, distinct id 페이징")
+    void searchPageWithMembers_테스트() {
+        // given : 팀 5개, 팀마다 회원 3명 (teamN 의 회원 나이 = N*10, N*10+1, N*10+2)
+        List<Long> teamIds = new ArrayList<>();
+        for (int t = 1; t <= 5; t++) {
+            Team findTeam = new Team("team" + t);
+            em.persist(findTeam);
+            teamIds.add(findTeam.getId());
+            for (int i = 0; i < 3; i++) {
+                em.persist(new Member("member" + t + "_" + i, t * 10 + i, findTeam));
+            }
+        }
+        em.flush();
+        em.clear();
+
+        // 컬렉션 fetch join 에 바로 limit 을 걸면 메모리 페이징 대신 실패한다. (fail_on_pagination_over_collection_fetch)
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        Assertions.assertThatThrownBy(() -> queryFactory
+                        .selectFrom(team)
+                        .leftJoin(team.members, member).fetchJoin()
+                        .offset(0)
+                        .limit(2)
+                        .fetch())
+                .hasStackTraceContaining("collection fetch");
+
+        // when : 나이 21 이상 회원이 있는 팀 (team2 ~ team5), id 내림차순 2번째 페이지
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(21);
+        Page<Team> result = teamTestRepository.searchPageWithMembers(condition,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id")));
+
+        // then : 회원 수만큼 중복되지 않고 팀 단위로 페이징/카운트, 회원 컬렉션은 조건으로 걸러지지 않은 전체
+        Assertions.assertThat(result.getTotalElements()).isEqualTo(4);
+        Assertions.assertThat(result.getContent()).extracting("id")
+                .containsExactly(teamIds.get(2), teamIds.get(1));
+        Assertions.assertThat(result.getContent())
+                .allMatch(findTeam -> Hibernate.isInitialized(findTeam.getMembers()))
+                .allMatch(findTeam -> findTeam.getMembers().size() == 3);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.querydsl.repository.support;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("동시_동일요청_한번만_실행_테스트")
+    void 동시_동일요청_한번만_실행_테스트() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        Callable<Integer> search = () -> singleFlight.execute("same-key", () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        });
+
+        // when : leader 실행 중에 follower 9개 합류
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(search));
+        leaderStarted.await();
+        for (int i = 0; i < 9; i++) {
+            results.add(executor.submit(search));
+        }
+        while (singleFlight.getStats().get("same-key").getShared().sum() < 9) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // then
+        for (Future<Integer> result : results) {
+            Assertions.assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        Assertions.assertThat(executions.get()).isEqualTo(1);
+        Assertions.assertThat(singleFlight.getStats().get("same-key").getExecuted().sum()).isEqualTo(1);
+        Assertions.assertThat(singleFlight.getInFlightCount()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("leader_예외_follower_전파_및_재실행_테스트")
+    void leader_예외_follower_전파_및_재실행_테스트() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10);
+
+        Assertions.assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("fail");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // 결과를 캐시하지 않으므로 다음 요청은 다시 실행된다.
+        Assertions.assertThat(singleFlight.execute("key", () -> 1)).isEqualTo(1);
+        Assertions.assertThat(singleFlight.getStats().get("key").getExecuted().sum()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("비동기_follower_대기없이_leader_결과_공유_테스트")
+    void 비동기_follower_대기없이_leader_결과_공유_테스트() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<CompletableFuture<Integer>> leader = executor.submit(() -> singleFlight.executeAsync("key", () -> {
+            leaderStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        }));
+        leaderStarted.await();
+
+        // follower 는 leader 실행 중에도 바로 반환된다.
+        CompletableFuture<Integer> follower = singleFlight.executeAsync("key", () -> 0);
+        Assertions.assertThat(follower).isNotDone();
+
+        release.countDown();
+        Assertions.assertThat(leader.get(1, TimeUnit.SECONDS).get()).isEqualTo(42);
+        Assertions.assertThat(follower.get(1, TimeUnit.SECONDS)).isEqualTo(42);
+        Assertions.assertThat(singleFlight.getStats().get("key").getShared().sum()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("통계_key_변환_테스트")
+    void 통계_key_변환_테스트() {
+        // 실행 key 의 버전("1:", "2:")을 빼고 집계한다.
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(1, key -> key.substring(key.indexOf(':') + 1));
+
+        singleFlight.execute("1:key", () -> 1);
+        singleFlight.execute("2:key", () -> 2);
+
+        Assertions.assertThat(singleFlight.getStats()).containsOnlyKeys("key");
+        Assertions.assertThat(singleFlight.getStats().get("key").getExecuted().sum()).isEqualTo(2);
+    }
+}
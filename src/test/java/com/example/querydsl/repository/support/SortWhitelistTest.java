@@ -0,0 +1,109 @@
+package com.example.querydsl.repository.support;
+
+import com.example.querydsl.dto.InvalidSearchRequestException;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberSorts;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class SortWhitelistTest {
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("정렬_whitelist_변환_tie_breaker_테스트")
+    void 정렬_whitelist_변환_tie_breaker_테스트() {
+        // when
+        OrderSpecifier<?>[] orders = MemberSorts.WHITELIST.toOrderSpecifiers(Sort.by(Sort.Order.desc("age")));
+
+        // then : age desc, member.id asc
+        Assertions.assertThat(orders).containsExactly(member.age.desc(), member.id.asc());
+
+        // 정렬이 없어도 tie-breaker 는 붙는다.
+        Assertions.assertThat(MemberSorts.WHITELIST.toOrderSpecifiers(Sort.unsorted())).containsExactly(member.id.asc());
+
+        // 고유 키로 끝나면 다시 붙이지 않는다.
+        Assertions.assertThat(MemberSorts.WHITELIST.toOrderSpecifiers(Sort.by(Sort.Order.desc("memberId"))))
+                .containsExactly(member.id.desc());
+    }
+
+    @Test
+    @DisplayName("정렬_whitelist_허용되지_않은_속성_거절_테스트")
+    void 정렬_whitelist_허용되지_않은_속성_거절_테스트() {
+        Assertions.assertThatThrownBy(() -> MemberSorts.WHITELIST.toOrderSpecifiers(Sort.by("team.members")))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    @DisplayName("정렬_whitelist_인덱스_실행계획_테스트")
+    void 정렬_whitelist_인덱스_실행계획_테스트() {
+        // given
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 100; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+        em.flush();
+
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        // when : whitelist 로 정렬을 붙인 쿼리를 하이버네이트가 만든 SQL 그대로 explain
+        String usernamePlan = explain(queryFactory.select(member.id).from(member)
+                                                  .where(member.username.eq(Expressions.stringTemplate("'member10'"))),
+                                      Sort.by("memberId"));
+        String agePlan = explain(queryFactory.select(member.id).from(member)
+                                             .where(member.age.between(Expressions.numberTemplate(Integer.class, "10"),
+                                                                       Expressions.numberTemplate(Integer.class, "12"))),
+                                 Sort.by("age"));
+        String teamNamePlan = explain(queryFactory.select(member.id).from(member).join(member.team, team)
+                                                  .where(team.name.eq(Expressions.stringTemplate("'teamA'"))),
+                                      Sort.by("teamName"));
+        // 비교 대상 : 같은 조건을 인덱스를 쓸 수 없는 식({0} + 0)으로 건 쿼리
+        String nonIndexedPlan = explain(queryFactory.select(member.id).from(member)
+                                                    .where(Expressions.numberTemplate(Integer.class, "{0} + 0", member.age)
+                                                                      .between(Expressions.numberTemplate(Integer.class, "10"),
+                                                                               Expressions.numberTemplate(Integer.class, "12"))),
+                                        Sort.by("age"));
+        String memberIdPlan = explain(queryFactory.select(member.id).from(member), Sort.by("memberId"));
+
+        // then : whitelist 의 조건 컬럼은 인덱스를 사용한다. (인덱스를 쓸 수 없는 식은 tableScan)
+        Assertions.assertThat(usernamePlan).containsIgnoringCase("IDX_MEMBER_USERNAME");
+        Assertions.assertThat(agePlan).containsIgnoringCase("IDX_MEMBER_AGE").doesNotContainIgnoringCase("tableScan");
+        Assertions.assertThat(teamNamePlan).containsIgnoringCase("IDX_TEAM_NAME");
+        Assertions.assertThat(nonIndexedPlan).containsIgnoringCase("tableScan").doesNotContainIgnoringCase("IDX_MEMBER_AGE");
+
+        // 고유 키(memberId) 정렬은 정렬 없이 기본키 인덱스 순서로 읽는다.
+        // (다른 key 는 tie-breaker(member_id)까지 정렬하므로 단일 컬럼 인덱스로는 정렬이 생략되지 않는다)
+        Assertions.assertThat(memberIdPlan).contains("/* index sorted */");
+        Assertions.assertThat(agePlan).doesNotContain("/* index sorted */");
+    }
+
+    // 조건 값은 리터럴로 넣어서 파라미터 없는 SQL 로 번역한다. (offset/limit 은 실행 시 붙으므로 제외)
+    private String explain(JPAQuery<Long> query, Sort sort) {
+        query.orderBy(MemberSorts.WHITELIST.toOrderSpecifiers(sort));
+        String sql = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                       .getQueryPlanCache()
+                       .getHQLQueryPlan(query.toString(), false, Collections.emptyMap())
+                       .getSqlStrings()[0];
+        return String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.querydsl.sql;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.RelationalPath;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 손으로 관리하는 querydsl-sql 메타모델(SMember, STeam, SMemberArchive)이 JPA 엔티티가 만든 스키마와 같은지 확인한다.
+ * - 컬럼 이름, JDBC 타입, null 허용 여부, PK 컬럼을 DatabaseMetaData 와 비교한다.
+ * - 엔티티 매핑을 바꾸고 메타모델을 같이 바꾸지 않으면 여기서 실패한다.
+ */
+@SpringBootTest
+class SqlMetamodelSchemaTest {
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    @DisplayName("querydsl_sql_메타모델_스키마_일치_테스트")
+    void querydsl_sql_메타모델_스키마_일치_테스트() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (RelationalPath<?> table : List.<RelationalPath<?>>of(SMember.member, STeam.team, SMemberArchive.memberArchive)) {
+                Assertions.assertThat(columns(table))
+                        .as(table.getTableName() + " 컬럼")
+                        .isEqualTo(columns(metaData, table));
+                Assertions.assertThat(primaryKey(table))
+                        .as(table.getTableName() + " PK")
+                        .isEqualTo(primaryKey(metaData, table));
+            }
+        }
+    }
+
+    // 컬럼 이름 → "JDBC 타입 null 허용 여부"
+    private static Map<String, String> columns(RelationalPath<?> table) {
+        Map<String, String> columns = new TreeMap<>();
+        for (Path<?> column : table.getColumns()) {
+            ColumnMetadata metadata = table.getMetadata(column);
+            columns.put(metadata.getName(), describe(metadata.getJdbcType(), metadata.isNullable()));
+        }
+        return columns;
+    }
+
+    private static Map<String, String> columns(DatabaseMetaData metaData, RelationalPath<?> table) throws SQLException {
+        Map<String, String> columns = new TreeMap<>();
+        try (ResultSet rs = metaData.getColumns(null, table.getSchemaName(), table.getTableName(), null)) {
+            while (rs.next()) {
+                columns.put(rs.getString("COLUMN_NAME"),
+                            describe(rs.getInt("DATA_TYPE"), rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> primaryKey(RelationalPath<?> table) {
+        List<String> columns = new ArrayList<>();
+        for (Path<?> column : table.getPrimaryKey().getLocalColumns()) {
+            columns.add(table.getMetadata(column).getName());
+        }
+        return columns;
+    }
+
+    private static List<String> primaryKey(DatabaseMetaData metaData, RelationalPath<?> table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rs = metaData.getPrimaryKeys(null, table.getSchemaName(), table.getTableName())) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        return columns;
+    }
+
+    private static String describe(int jdbcType, boolean nullable) {
+        return jdbcType + (nullable ? " null" : " not null");
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.outbox.ChangeType;
+import com.example.querydsl.repository.MemberRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 회원 수 증감은 커밋 직전에 반영되므로 @Transactional(rollback) 을 사용하지 않고 직접 정리한다.
+ * 주기적인 reconcile 이 테스트 중간에 끼어들지 않도록 주기를 늘린다.
+ */
+@SpringBootTest(properties = {
+        "member.team-member-count.reconcile-interval-ms=3600000",
+        "member.team-name-sync.chunk-size=2"})
+class TeamMemberCounterTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TeamMemberCounter teamMemberCounter;
+
+    @Autowired
+    TeamMemberMoveService teamMemberMoveService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 5; i++) {
+                em.persist(new Member("member" + i, i, i <= 3 ? teamA : teamB));
+            }
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("회원_insert_팀변경_delete_회원수_반영_테스트")
+    void 회원_insert_팀변경_delete_회원수_반영_테스트() {
+        // given : insert 와 같은 트랜잭션에서 반영된다.
+        Assertions.assertThat(teamMemberCounter.currentCount(teamAId)).isEqualTo(3);
+        Assertions.assertThat(memberCount(teamAId)).isEqualTo(3);
+        Assertions.assertThat(memberCount(teamBId)).isEqualTo(2);
+
+        // when : member1 teamA → teamB, member4 삭제, 롤백된 insert
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member1 = em.createQuery("select m from Member m where m.username = 'member1'", Member.class).getSingleResult();
+            member1.changeTeam(em.find(Team.class, teamBId));
+            em.remove(em.createQuery("select m from Member m where m.username = 'member4'", Member.class).getSingleResult());
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Member("rollback", 10, em.find(Team.class, teamAId)));
+            status.setRollbackOnly();
+        });
+
+        // then
+        Assertions.assertThat(memberCount(teamAId)).isEqualTo(2);
+        Assertions.assertThat(memberCount(teamBId)).isEqualTo(2);
+        Assertions.assertThat(teamMemberCounter.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("벌크_이동_회원수_반영_reconcile_테스트")
+    void 벌크_이동_회원수_반영_reconcile_테스트() {
+        // when : chunk 2건 단위 벌크 이동
+        long moved = teamMemberMoveService.moveAll(teamAId, teamBId);
+
+        // then
+        Assertions.assertThat(moved).isEqualTo(3);
+        Assertions.assertThat(memberCount(teamAId)).isEqualTo(0);
+        Assertions.assertThat(memberCount(teamBId)).isEqualTo(5);
+
+        // 엔티티/카운터를 거치지 않은 변경으로 어긋난 값은 reconcile 이 맞춘다.
+        transactionTemplate.executeWithoutResult(status ->
+                em.createNativeQuery("update team set member_count = 100 where team_id = " + teamBId).executeUpdate());
+        TeamMemberCountReport report = teamMemberCounter.reconcile();
+
+        Assertions.assertThat(report.getTeamIds()).containsExactly(teamBId);
+        Assertions.assertThat(report.getDrift()).isEqualTo(95);
+        Assertions.assertThat(memberCount(teamBId)).isEqualTo(5);
+        Assertions.assertThat(teamMemberCounter.check().isConsistent()).isTrue();
+        Assertions.assertThat(outboxCount("Team", ChangeType.BULK_UPDATED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("검색_결과_teamMemberCount_조회_테스트")
+    void 검색_결과_teamMemberCount_조회_테스트() {
+        // when : 내용 쿼리 후 팀 id 로 한 번 더 조회해서 채운다.
+        Page<MemberTeamDto> page = memberRepository.searchPaginationSimple(new MemberSearchCondition(), PageRequest.of(0, 4));
+
+        // then
+        Assertions.assertThat(page.getContent())
+                  .extracting(MemberTeamDto::getTeamId, MemberTeamDto::getTeamMemberCount)
+                  .containsExactly(Assertions.tuple(teamAId, 3L),
+                                   Assertions.tuple(teamAId, 3L),
+                                   Assertions.tuple(teamAId, 3L),
+                                   Assertions.tuple(teamBId, 2L));
+    }
+
+    private long outboxCount(String aggregateType, ChangeType changeType) {
+        return transactionTemplate.execute(status -> em.createQuery(
+                        "select count(e) from OutboxEvent e where e.aggregateType = :aggregateType and e.changeType = :changeType", Long.class)
+                                                        .setParameter("aggregateType", aggregateType)
+                                                        .setParameter("changeType", changeType)
+                                                        .getSingleResult());
+    }
+
+    private long memberCount(Long teamId) {
+        return transactionTemplate.execute(status -> em.find(Team.class, teamId).getMemberCount());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.querydsl.team;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * 팀 이름 전파는 chunk 마다 커밋하므로 @Transactional(rollback) 을 사용하지 않고 직접 정리한다.
+ */
+@SpringBootTest(properties = "member.team-name-sync.chunk-size=3")
+class TeamRenameServiceTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TeamRenameService teamRenameService;
+
+    @Autowired
+    TeamNameConsistencyChecker consistencyChecker;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 10; i++) {
+                em.persist(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+            }
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+            em.createQuery("delete from OutboxEvent").executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("팀_이름_변경_chunk_전파_테스트")
+    void 팀_이름_변경_chunk_전파_테스트() {
+        // when
+        long updated = teamRenameService.rename(teamAId, "teamC");
+
+        // then : team 조인 없이 역정규화 컬럼으로 검색
+        Assertions.assertThat(updated).isEqualTo(5);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamC");
+        List<MemberTeamDto> result = memberRepository.searchWhereParameter(condition);
+        Assertions.assertThat(result).hasSize(5);
+        Assertions.assertThat(result).allMatch(dto -> dto.getTeamId().equals(teamAId));
+
+        condition.setTeamName("teamA");
+        Assertions.assertThat(memberRepository.searchWhereParameter(condition)).isEmpty();
+        Assertions.assertThat(consistencyChecker.check().isConsistent()).isTrue();
+
+        // 이미 전파된 회원은 다시 갱신하지 않는다.
+        Assertions.assertThat(teamRenameService.propagate(teamAId)).isZero();
+    }
+
+    @Test
+    @DisplayName("changeTeam_역정규화_컬럼_갱신_테스트")
+    void changeTeam_역정규화_컬럼_갱신_테스트() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member1 = em.createQuery("select m from Member m where m.username = 'member1'", Member.class)
+                               .getSingleResult();
+            member1.changeTeam(em.find(Team.class, teamAId));
+        });
+
+        // then
+        Member member1 = transactionTemplate.execute(status ->
+                em.createQuery("select m from Member m where m.username = 'member1'", Member.class).getSingleResult());
+        Assertions.assertThat(member1.getTeamName()).isEqualTo("teamA");
+        Assertions.assertThat(consistencyChecker.check().isConsistent()).isTrue();
+    }
+
+    @Test
+    @DisplayName("팀_이름_불일치_검사_복구_테스트")
+    void 팀_이름_불일치_검사_복구_테스트() {
+        // given : 엔티티를 거치지 않고 값을 어긋나게 만든다.
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("update Member m set m.teamName = 'wrong' where m.age <= 3").executeUpdate();
+            em.persist(new Member("noTeam", 50));
+            em.flush();
+            em.createQuery("update Member m set m.teamName = 'ghost' where m.username = 'noTeam'").executeUpdate();
+        });
+
+        // when
+        TeamNameConsistencyReport report = consistencyChecker.check();
+        TeamNameConsistencyReport repaired = consistencyChecker.repair();
+
+        // then
+        Assertions.assertThat(report.getInconsistentMembers()).isEqualTo(4);
+        Assertions.assertThat(report.getMembersWithoutTeam()).isEqualTo(1);
+        Assertions.assertThat(report.getTeamIds()).containsExactlyInAnyOrder(teamAId, teamBId);
+        Assertions.assertThat(repaired.isConsistent()).isTrue();
+    }
+}